@@ -26,6 +26,7 @@ import lol.hyper.toolstats.events.*;
 import lol.hyper.toolstats.tools.*;
 import lol.hyper.toolstats.tools.config.ConfigTools;
 import lol.hyper.toolstats.tools.config.ConfigUpdater;
+import lol.hyper.toolstats.tools.config.Settings;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
@@ -95,6 +96,10 @@ public final class ToolStats extends JavaPlugin {
      * Key for item has.
      */
     public final NamespacedKey hash = new NamespacedKey(this, "hash");
+    /**
+     * Key for the scheme used to make the item hash.
+     */
+    public final NamespacedKey hashScheme = new NamespacedKey(this, "hash-scheme");
     /**
      * Key for arrows shot.
      */
@@ -112,11 +117,18 @@ public final class ToolStats extends JavaPlugin {
      */
     public final NamespacedKey tokenType = new NamespacedKey(this, "token-type");
     /**
-     * Key for applied token. This is what goes onto the tool/armor to record the type.
+     * Applied tokens from older versions, stored as a comma separated string.
+     * These are moved into tokenMask the next time the item is updated.
      */
     public final NamespacedKey tokenApplied = new NamespacedKey(this, "token-applied");
     /**
-     * Lore index keys used to speed up stat line updates.
+     * Key for applied tokens. This is what goes onto the tool/armor to record the types,
+     * one bit per stat id.
+     */
+    public final NamespacedKey tokenMask = new NamespacedKey(this, "token-mask");
+    /**
+     * Lore index keys from older versions, one per stat.
+     * These are moved into loreLayout the next time the item is updated.
      */
     public final NamespacedKey loreIndexBlocksMined = new NamespacedKey(this, "lore-index-blocks-mined");
     public final NamespacedKey loreIndexCropsMined = new NamespacedKey(this, "lore-index-crops-mined");
@@ -128,6 +140,14 @@ public final class ToolStats extends JavaPlugin {
     public final NamespacedKey loreIndexArrowsShot = new NamespacedKey(this, "lore-index-arrows-shot");
     public final NamespacedKey loreIndexFlightTime = new NamespacedKey(this, "lore-index-flight-time");
     public final NamespacedKey loreIndexFishCaught = new NamespacedKey(this, "lore-index-fish-caught");
+    /**
+     * Which lore line each stat is on, see LoreLayout.
+     */
+    public final NamespacedKey loreLayout = new NamespacedKey(this, "lore-layout");
+    /**
+     * All stats packed into one byte array, see StatStore.
+     */
+    public final NamespacedKey statBlob = new NamespacedKey(this, "stats");
     /**
      * Stores how an item was created.
      * 0 = crafted.
@@ -140,7 +160,7 @@ public final class ToolStats extends JavaPlugin {
      */
     public final NamespacedKey originType = new NamespacedKey(this, "origin");
 
-    public final int CONFIG_VERSION = 14;
+    public final int CONFIG_VERSION = 15;
     public final ComponentLogger logger = this.getComponentLogger();
     public final File configFile = new File(this.getDataFolder(), "config.yml");
     public boolean tokens = false;
@@ -160,10 +180,15 @@ public final class ToolStats extends JavaPlugin {
     public CartographyDuplicate cartographyDuplicate;
     public CommandToolStats commandToolStats;
     public ItemLore itemLore;
+    public OriginStamper originStamper;
     public InventoryOpen inventoryOpen;
     public PlayerJoin playerJoin;
     public NumberFormat numberFormat;
     public YamlConfiguration config;
+    /**
+     * Compiled from the config on every load, swapped in as a whole on reload.
+     */
+    public volatile Settings settings;
     public HashMaker hashMaker;
     public CreativeEvent creativeEvent;
     public PlayerMove playerMove;
@@ -176,6 +201,11 @@ public final class ToolStats extends JavaPlugin {
     public BlockDispenseEvent blockDispenseEvent;
     public HyperLib hyperLib;
     public TextUtils textUtils;
+    public StatRegistry statRegistry;
+    public StatStore statStore;
+    public LoreRenderer loreRenderer;
+    public StatBuffer statBuffer;
+    public StatFlush statFlush;
 
     @Override
     public void onEnable() {
@@ -192,12 +222,15 @@ public final class ToolStats extends JavaPlugin {
             logger.info("Copying default config!");
         }
 
+        // the settings need the stats, so this has to come first
+        statRegistry = new StatRegistry(this);
         loadConfig();
+        statStore = new StatStore(this);
         configTools = new ConfigTools(this);
         tokenData = new TokenData(this);
         tokenData.setup();
         for (ShapedRecipe recipe : tokenData.getRecipes()) {
-            if (tokens && config.getBoolean("tokens.craft-tokens")) {
+            if (tokens && settings.craftTokens()) {
                 Bukkit.addRecipe(recipe);
             }
         }
@@ -216,6 +249,8 @@ public final class ToolStats extends JavaPlugin {
         cartographyDuplicate = new CartographyDuplicate(this);
         commandToolStats = new CommandToolStats(this);
         itemLore = new ItemLore(this);
+        originStamper = new OriginStamper(this);
+        loreRenderer = new LoreRenderer(this);
         inventoryOpen = new InventoryOpen(this);
         playerJoin = new PlayerJoin(this);
         creativeEvent = new CreativeEvent(this);
@@ -226,6 +261,8 @@ public final class ToolStats extends JavaPlugin {
         anvilEvent = new AnvilEvent(this);
         prepareCraft = new PrepareCraft(this);
         blockDispenseEvent = new BlockDispenseEvent(this);
+        statBuffer = new StatBuffer(this);
+        statFlush = new StatFlush(this);
 
         // save which stat can be used by a reset token
         tokenKeys.add(blocksMined);
@@ -237,6 +274,8 @@ public final class ToolStats extends JavaPlugin {
         tokenKeys.add(flightTime);
         tokenKeys.add(arrowsShot);
         tokenKeys.add(armorDamage);
+        // packed items keep every stat under this one key
+        tokenKeys.add(statBlob);
 
         Bukkit.getServer().getPluginManager().registerEvents(blockBreak, this);
         Bukkit.getServer().getPluginManager().registerEvents(chunkPopulate, this);
@@ -258,6 +297,7 @@ public final class ToolStats extends JavaPlugin {
         Bukkit.getServer().getPluginManager().registerEvents(anvilEvent, this);
         Bukkit.getServer().getPluginManager().registerEvents(prepareCraft, this);
         Bukkit.getServer().getPluginManager().registerEvents(blockDispenseEvent, this);
+        Bukkit.getServer().getPluginManager().registerEvents(statFlush, this);
 
         this.getCommand("toolstats").setExecutor(commandToolStats);
 
@@ -268,6 +308,17 @@ public final class ToolStats extends JavaPlugin {
         updater.check();
     }
 
+    @Override
+    public void onDisable() {
+        // write any stats that are still waiting
+        if (statBuffer != null) {
+            statBuffer.flushAll();
+        }
+        if (mobKill != null) {
+            mobKill.flushAllHits();
+        }
+    }
+
     public void loadConfig() {
         config = YamlConfiguration.loadConfiguration(configFile);
         if (config.getInt("config-version") != CONFIG_VERSION) {
@@ -282,8 +333,15 @@ public final class ToolStats extends JavaPlugin {
             logger.info("https://github.com/hyperdefined/ToolStats/wiki/Token-System");
         }
 
-        tokens = config.getBoolean("tokens.enabled");
+        settings = Settings.load(this);
+        tokens = settings.tokensEnabled();
 
         numberFormat = new NumberFormat(this);
+        if (configTools != null) {
+            configTools.loadTemplates();
+        }
+        if (itemLore != null) {
+            itemLore.clearCreationLines();
+        }
     }
 }
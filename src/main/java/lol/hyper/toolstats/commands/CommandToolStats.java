@@ -19,6 +19,7 @@ package lol.hyper.toolstats.commands;
 
 import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatValues;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
@@ -37,6 +38,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class CommandToolStats implements TabExecutor {
@@ -60,30 +62,8 @@ public class CommandToolStats implements TabExecutor {
         switch (args[0]) {
             case "reload": {
                 if (sender.hasPermission("toolstats.reload")) {
-                    boolean oldTokensStatus = toolStats.tokens;
-                    toolStats.loadConfig();
-                    toolStats.tokenData.getRecipes().clear();
-                    toolStats.tokenData.setup();
-                    // if the server went from tokens off -> on, add the recipes
-                    // if the server went from tokens on -> off, remove the recipes
-                    if (toolStats.tokens != oldTokensStatus) {
-                        // tokens are now enabled
-                        if (toolStats.tokens) {
-                            sender.sendMessage(Component.text("It looks like you ENABLED the token system. While this is fine, it can break. Please restart your server instead.", NamedTextColor.YELLOW));
-                            if (toolStats.config.getBoolean("tokens.craft-token")) {
-                                for (ShapedRecipe recipe : toolStats.tokenData.getRecipes()) {
-                                    Bukkit.addRecipe(recipe);
-                                }
-                            }
-                        } else {
-                            // tokens are now disabled
-                            sender.sendMessage(Component.text("It looks like you DISABLED the token system. While this is fine, it can break. Please restart your server instead.", NamedTextColor.YELLOW));
-                            for (ShapedRecipe recipe : toolStats.tokenData.getRecipes()) {
-                                Bukkit.removeRecipe(recipe.getKey());
-                            }
-                        }
-                    }
-                    sender.sendMessage(Component.text("Configuration reloaded!", NamedTextColor.GREEN));
+                    // write buffered stats and hits before the settings change, each on the player's own region
+                    toolStats.statFlush.flushOnlinePlayers().thenRun(() -> Bukkit.getGlobalRegionScheduler().run(toolStats, scheduledTask -> reload(sender)));
                 } else {
                     sender.sendMessage(Component.text("You do not have permission for this command.", NamedTextColor.RED));
                 }
@@ -139,6 +119,7 @@ public class CommandToolStats implements TabExecutor {
                         return true;
                     }
                     Player player = (Player) sender;
+                    toolStats.statFlush.flush(player);
                     ItemStack heldItem = player.getInventory().getItemInMainHand();
                     if (!toolStats.itemChecker.isValidItem(heldItem.getType())) {
                         sender.sendMessage(Component.text("You must hold a valid item.", NamedTextColor.RED));
@@ -148,7 +129,7 @@ public class CommandToolStats implements TabExecutor {
                     sender.sendMessage(Component.text("The lore was reset!", NamedTextColor.GREEN));
                     return true;
                 }
-                sender.sendMessage(Component.text("This will remove ALL current lore from the held item and replace it with the correct lore.", NamedTextColor.GREEN));
+                sender.sendMessage(Component.text("This will remove all ToolStats lore from the held item and replace it with the correct lore.", NamedTextColor.GREEN));
                 sender.sendMessage(Component.text("If the owner of the item is broken, it will reset to the person holding it.", NamedTextColor.GREEN));
                 sender.sendMessage(Component.text("Only use this if the tags on the tool are incorrect.", NamedTextColor.GREEN));
                 sender.sendMessage(Component.text("Type /toolstats reset confirm to confirm this.", NamedTextColor.GREEN));
@@ -169,6 +150,7 @@ public class CommandToolStats implements TabExecutor {
                         return true;
                     }
                     Player player = (Player) sender;
+                    toolStats.statFlush.flush(player);
                     ItemStack heldItem = player.getInventory().getItemInMainHand();
                     if (!toolStats.itemChecker.isValidItem(heldItem.getType())) {
                         sender.sendMessage(Component.text("You must hold a valid item.", NamedTextColor.RED));
@@ -185,6 +167,28 @@ public class CommandToolStats implements TabExecutor {
                 sender.sendMessage(Component.text("Type /toolstats purge confirm to confirm this.", NamedTextColor.GREEN));
                 return true;
             }
+            case "inspect": {
+                if (!sender.hasPermission("toolstats.inspect")) {
+                    sender.sendMessage(Component.text("You do not have permission for this command.", NamedTextColor.RED));
+                    return true;
+                }
+                if (sender instanceof ConsoleCommandSender) {
+                    sender.sendMessage(Component.text("You must be a player for this command.", NamedTextColor.RED));
+                    return true;
+                }
+                Player player = (Player) sender;
+                toolStats.statFlush.flush(player);
+                ItemStack heldItem = player.getInventory().getItemInMainHand();
+                List<Component> lines = toolStats.loreRenderer.buildLines(heldItem, heldItem.getPersistentDataContainer());
+                if (lines.isEmpty()) {
+                    sender.sendMessage(Component.text("This item has no stats.", NamedTextColor.RED));
+                    return true;
+                }
+                for (Component line : lines) {
+                    sender.sendMessage(line);
+                }
+                return true;
+            }
             case "givetokens": {
                 if (!sender.hasPermission("toolstats.givetokens")) {
                     sender.sendMessage(Component.text("You do not have permission for this command.", NamedTextColor.RED));
@@ -206,7 +210,7 @@ public class CommandToolStats implements TabExecutor {
                     return true;
                 }
                 // make sure tokens are enabled before giving
-                if (!toolStats.config.getBoolean("tokens.enabled")) {
+                if (!toolStats.settings.tokensEnabled()) {
                     sender.sendMessage(Component.text("Unable to give tokens. Tokens are disabled", NamedTextColor.RED));
                     return true;
                 }
@@ -238,7 +242,40 @@ public class CommandToolStats implements TabExecutor {
     }
 
     /**
-     * Fixes lore on a given item. This will wipe all lore and reapply our custom ones.
+     * Reload the config and the token recipes.
+     *
+     * @param sender Who ran the command.
+     */
+    private void reload(CommandSender sender) {
+        boolean oldTokensStatus = toolStats.tokens;
+        toolStats.loadConfig();
+        toolStats.tokenData.getRecipes().clear();
+        toolStats.tokenData.setup();
+        // if the server went from tokens off -> on, add the recipes
+        // if the server went from tokens on -> off, remove the recipes
+        if (toolStats.tokens != oldTokensStatus) {
+            // tokens are now enabled
+            if (toolStats.tokens) {
+                sender.sendMessage(Component.text("It looks like you ENABLED the token system. While this is fine, it can break. Please restart your server instead.", NamedTextColor.YELLOW));
+                if (toolStats.config.getBoolean("tokens.craft-token")) {
+                    for (ShapedRecipe recipe : toolStats.tokenData.getRecipes()) {
+                        Bukkit.addRecipe(recipe);
+                    }
+                }
+            } else {
+                // tokens are now disabled
+                sender.sendMessage(Component.text("It looks like you DISABLED the token system. While this is fine, it can break. Please restart your server instead.", NamedTextColor.YELLOW));
+                for (ShapedRecipe recipe : toolStats.tokenData.getRecipes()) {
+                    Bukkit.removeRecipe(recipe.getKey());
+                }
+            }
+        }
+        sender.sendMessage(Component.text("Configuration reloaded!", NamedTextColor.GREEN));
+    }
+
+    /**
+     * Fixes lore on a given item. This will rebuild all of our lore from the item's data.
+     * Lore from other plugins is left alone.
      *
      * @param original The item we are fixing.
      * @param player   The player running the command.
@@ -250,29 +287,7 @@ public class CommandToolStats implements TabExecutor {
             return;
         }
         PersistentDataContainer container = finalMeta.getPersistentDataContainer();
-        List<Component> lore = new ArrayList<>();
-
-        // set how the item was obtained
-        Integer origin = -1;
-        if (container.has(toolStats.originType, PersistentDataType.INTEGER)) {
-            origin = container.get(toolStats.originType, PersistentDataType.INTEGER);
-        }
-
-        // set to -1 if it's invalid
-        if (origin == null) {
-            origin = -1;
-        }
-
-        if (container.has(toolStats.droppedBy, PersistentDataType.STRING)) {
-            if (toolStats.config.getBoolean("enabled.dropped-by")) {
-                if (container.has(toolStats.droppedBy)) {
-                    String droppedBy = container.get(toolStats.droppedBy, PersistentDataType.STRING);
-                    lore.add(toolStats.configTools.formatLore("dropped-by", "{name}", droppedBy));
-                } else {
-                    player.sendMessage(Component.text("Unable to set 'dropped-by', as this item has no record of it."));
-                }
-            }
-        }
+        Predicate<Component> ownedLines = toolStats.loreRenderer.ownedLines(finalItem, finalMeta);
 
         if (container.has(toolStats.itemOwner, new UUIDDataType())) {
             UUID owner = container.get(toolStats.itemOwner, new UUIDDataType());
@@ -287,110 +302,11 @@ public class CommandToolStats implements TabExecutor {
             // to the current player running the command
             if (ownerName == null) {
                 player.sendMessage(Component.text("The owner of this item is null. Setting to " + player.getName() + ".", NamedTextColor.RED));
-                ownerName = player.getName();
                 container.set(toolStats.itemOwner, new UUIDDataType(), player.getUniqueId());
             }
-
-            // add the ownership lore
-            Component ownerLore = toolStats.itemLore.formatOwner(ownerName, origin, original);
-            if (ownerLore != null) {
-                lore.add(ownerLore);
-            }
-
-        }
-        if (container.has(toolStats.timeCreated, PersistentDataType.LONG)) {
-            Long time = container.get(toolStats.timeCreated, PersistentDataType.LONG);
-            if (time != null) {
-                // add the creation time lore
-                Component creationTimeLore = toolStats.itemLore.formatCreationTime(time, origin, original);
-                if (creationTimeLore != null) {
-                    lore.add(creationTimeLore);
-                }
-            }
-        }
-        if (toolStats.config.getBoolean("enabled.flight-time")) {
-            if (container.has(toolStats.flightTime, PersistentDataType.LONG)) {
-                Long flightTime = container.get(toolStats.flightTime, PersistentDataType.LONG);
-                if (flightTime != null) {
-                    Map<String, String> flightTimeFormatted = toolStats.numberFormat.formatTime(flightTime);
-                    Component line = toolStats.configTools.formatLoreMultiplePlaceholders("flight-time", flightTimeFormatted);
-                    lore.add(line);
-                }
-            }
         }
-        if (toolStats.configTools.checkConfig(original.getType(), "player-kills")) {
-            if (container.has(toolStats.playerKills, PersistentDataType.INTEGER)) {
-                Integer kills = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
-                if (kills != null) {
-                    lore.add(toolStats.configTools.formatLore("kills.player", "{kills}", toolStats.numberFormat.formatInt(kills)));
-                }
-            }
-        }
-        if (toolStats.configTools.checkConfig(original.getType(), "mob-kills")) {
-            if (container.has(toolStats.mobKills, PersistentDataType.INTEGER)) {
-                Integer kills = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
-                if (kills != null) {
-                    lore.add(toolStats.configTools.formatLore("kills.mob", "{kills}", toolStats.numberFormat.formatInt(kills)));
-                }
-            }
-        }
-        if (toolStats.configTools.checkConfig(original.getType(), "blocks-mined")) {
-            if (original.getType().toString().toLowerCase(Locale.ROOT).contains("hoe")) {
-                if (container.has(toolStats.cropsHarvested, PersistentDataType.INTEGER)) {
-                    Integer crops = container.get(toolStats.cropsHarvested, PersistentDataType.INTEGER);
-                    if (crops != null) {
-                        lore.add(toolStats.configTools.formatLore("crops-harvested", "{crops}", toolStats.numberFormat.formatInt(crops)));
-                    }
-                }
-            }
-            if (container.has(toolStats.blocksMined, PersistentDataType.INTEGER)) {
-                Integer blocksMined = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
-                if (blocksMined != null) {
-                    lore.add(toolStats.configTools.formatLore("blocks-mined", "{blocks}", toolStats.numberFormat.formatInt(blocksMined)));
-                }
-            }
-        }
-        if (toolStats.config.getBoolean("enabled.fish-caught")) {
-            if (container.has(toolStats.fishCaught, PersistentDataType.INTEGER)) {
-                Integer fish = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
-                if (fish != null) {
-                    lore.add(toolStats.configTools.formatLore("fished.fish-caught", "{fish}", toolStats.numberFormat.formatInt(fish)));
-                }
-            }
-        }
-        if (toolStats.config.getBoolean("enabled.sheep-sheared")) {
-            if (container.has(toolStats.sheepSheared, PersistentDataType.INTEGER)) {
-                Integer sheep = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
-                if (sheep != null) {
-                    lore.add(toolStats.configTools.formatLore("sheep-sheared", "{sheep}", toolStats.numberFormat.formatInt(sheep)));
-                }
-            }
-        }
-        if (toolStats.config.getBoolean("enabled.armor-damage")) {
-            if (container.has(toolStats.armorDamage, PersistentDataType.DOUBLE)) {
-                Double damage = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
-                if (damage != null) {
-                    lore.add(toolStats.configTools.formatLore("damage-taken", "{damage}", toolStats.numberFormat.formatDouble(damage)));
-                }
-            }
-        }
-        if (toolStats.configTools.checkConfig(original.getType(), "damage-done")) {
-            if (container.has(toolStats.damageDone, PersistentDataType.DOUBLE)) {
-                Double damage = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
-                if (damage != null) {
-                    lore.add(toolStats.configTools.formatLore("damage-done", "{damage}", toolStats.numberFormat.formatDouble(damage)));
-                }
-            }
-        }
-        if (toolStats.config.getBoolean("enabled.arrows-shot")) {
-            if (container.has(toolStats.arrowsShot, PersistentDataType.INTEGER)) {
-                Integer arrows = container.get(toolStats.arrowsShot, PersistentDataType.INTEGER);
-                if (arrows != null) {
-                    lore.add(toolStats.configTools.formatLore("arrows-shot", "{arrows}", toolStats.numberFormat.formatInt(arrows)));
-                }
-            }
-        }
-        finalMeta.lore(lore);
+
+        toolStats.loreRenderer.render(finalItem, finalMeta, ownedLines);
         finalItem.setItemMeta(finalMeta);
         int slot = player.getInventory().getHeldItemSlot();
         player.getInventory().setItem(slot, finalItem);
@@ -416,6 +332,7 @@ public class CommandToolStats implements TabExecutor {
      * @param player    The player using the command.
      */
     private void handleEdit(String stat, Object userValue, Player player) {
+        toolStats.statFlush.flush(player);
         ItemStack editedItem = player.getInventory().getItemInMainHand().clone();
         if (!toolStats.itemChecker.isValidItem(editedItem.getType())) {
             player.sendMessage(Component.text("This is not a valid item.", NamedTextColor.RED));
@@ -423,13 +340,14 @@ public class CommandToolStats implements TabExecutor {
         }
         ItemMeta editedItemMeta = editedItem.getItemMeta();
         PersistentDataContainer container = editedItemMeta.getPersistentDataContainer();
+        StatValues stats = toolStats.statStore.read(container);
         switch (stat) {
             case "crops-harvested": {
-                if (!toolStats.config.getBoolean("enabled.crops-harvested")) {
+                if (!toolStats.settings.isEnabled("crops-harvested")) {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.cropsHarvested)) {
+                if (stats.has(toolStats.statRegistry.cropsHarvested)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -441,13 +359,13 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.cropsHarvested, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.cropsHarvested);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateCropsMined(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.cropsHarvested, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
@@ -458,7 +376,7 @@ public class CommandToolStats implements TabExecutor {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.blocksMined)) {
+                if (stats.has(toolStats.statRegistry.blocksMined)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -470,24 +388,24 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.blocksMined);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateBlocksMined(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.blocksMined, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
                 break;
             }
             case "damage-taken": {
-                if (!toolStats.config.getBoolean("enabled.armor-damage")) {
+                if (!toolStats.settings.isEnabled("armor-damage")) {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.armorDamage)) {
+                if (stats.has(toolStats.statRegistry.armorDamage)) {
                     double value;
                     try {
                         value = Double.parseDouble((String) userValue);
@@ -499,13 +417,13 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Double statValue = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
+                    Double statValue = stats.getDouble(toolStats.statRegistry.armorDamage);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     double difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateArmorDamage(editedItem, difference, false);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.armorDamage, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
@@ -516,7 +434,7 @@ public class CommandToolStats implements TabExecutor {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.damageDone)) {
+                if (stats.has(toolStats.statRegistry.damageDone)) {
                     double value;
                     try {
                         value = Double.parseDouble((String) userValue);
@@ -528,13 +446,13 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Double statValue = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
+                    Double statValue = stats.getDouble(toolStats.statRegistry.damageDone);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     double difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateWeaponDamage(editedItem, difference, false);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.damageDone, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
@@ -545,7 +463,7 @@ public class CommandToolStats implements TabExecutor {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.mobKills)) {
+                if (stats.has(toolStats.statRegistry.mobKills)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -557,13 +475,13 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.mobKills);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateMobKills(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.mobKills, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
@@ -574,7 +492,7 @@ public class CommandToolStats implements TabExecutor {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.playerKills)) {
+                if (stats.has(toolStats.statRegistry.playerKills)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -586,24 +504,24 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.playerKills);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updatePlayerKills(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.playerKills, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
                 break;
             }
             case "arrows-shot": {
-                if (!toolStats.config.getBoolean("enabled.arrows-shot")) {
+                if (!toolStats.settings.isEnabled("arrows-shot")) {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.arrowsShot)) {
+                if (stats.has(toolStats.statRegistry.arrowsShot)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -615,24 +533,24 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.arrowsShot, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.arrowsShot);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateArrowsShot(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.arrowsShot, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
                 break;
             }
             case "sheep-sheared": {
-                if (!toolStats.config.getBoolean("enabled.sheep-sheared")) {
+                if (!toolStats.settings.isEnabled("sheep-sheared")) {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.sheepSheared)) {
+                if (stats.has(toolStats.statRegistry.sheepSheared)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -644,24 +562,24 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.sheepSheared);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateSheepSheared(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.sheepSheared, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
                 break;
             }
             case "flight-time": {
-                if (!toolStats.config.getBoolean("enabled.flight-time")) {
+                if (!toolStats.settings.isEnabled("flight-time")) {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.flightTime)) {
+                if (stats.has(toolStats.statRegistry.flightTime)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -673,24 +591,24 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Long statValue = container.get(toolStats.flightTime, PersistentDataType.LONG);
+                    Long statValue = stats.getLong(toolStats.statRegistry.flightTime);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     long difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateFlightTime(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.flightTime, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
                 break;
             }
             case "fight-caught": {
-                if (!toolStats.config.getBoolean("enabled.fight-caught")) {
+                if (!toolStats.settings.isEnabled("fight-caught")) {
                     player.sendMessage(Component.text("This stat is disabled.", NamedTextColor.RED));
                     return;
                 }
-                if (container.has(toolStats.fishCaught)) {
+                if (stats.has(toolStats.statRegistry.fishCaught)) {
                     int value;
                     try {
                         value = Integer.parseInt((String) userValue);
@@ -702,13 +620,13 @@ public class CommandToolStats implements TabExecutor {
                         player.sendMessage(Component.text("Number must be positive.", NamedTextColor.RED));
                         return;
                     }
-                    Integer statValue = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
+                    Integer statValue = stats.getInt(toolStats.statRegistry.fishCaught);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
                     int difference = value - statValue;
-                    editedItemMeta = toolStats.itemLore.updateFishCaught(editedItem, difference);
+                    editedItemMeta = toolStats.itemLore.updateStat(editedItem, toolStats.statRegistry.fishCaught, difference);
                 } else {
                     player.sendMessage(Component.text("This item does not have that stat.", NamedTextColor.RED));
                 }
@@ -720,6 +638,11 @@ public class CommandToolStats implements TabExecutor {
             }
         }
         editedItem.setItemMeta(editedItemMeta);
+        // show the new value right away
+        ItemMeta refreshedMeta = toolStats.itemLore.refreshLore(editedItem);
+        if (refreshedMeta != null) {
+            editedItem.setItemMeta(refreshedMeta);
+        }
         player.getInventory().setItemInMainHand(editedItem);
         player.sendMessage(Component.text("Updated stat " + stat + " for held item!", NamedTextColor.GREEN));
     }
@@ -731,6 +654,7 @@ public class CommandToolStats implements TabExecutor {
      * @param player The player using the command.
      */
     private void handleRemove(String stat, Player player) {
+        toolStats.statFlush.flush(player);
         ItemStack editedItem = player.getInventory().getItemInMainHand().clone();
         if (!toolStats.itemChecker.isValidItem(editedItem.getType())) {
             player.sendMessage(Component.text("This is not a valid item.", NamedTextColor.RED));
@@ -738,26 +662,21 @@ public class CommandToolStats implements TabExecutor {
         }
         ItemMeta editedItemMeta = editedItem.getItemMeta();
         PersistentDataContainer container = editedItemMeta.getPersistentDataContainer();
+        StatValues stats = toolStats.statStore.read(container);
         switch (stat) {
             case "crops-harvested": {
-                if (container.has(toolStats.cropsHarvested)) {
-                    Integer statValue = container.get(toolStats.cropsHarvested, PersistentDataType.INTEGER);
+                if (stats.has(toolStats.statRegistry.cropsHarvested)) {
+                    Integer statValue = stats.getInt(toolStats.statRegistry.cropsHarvested);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.cropsHarvested);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "crops-mined");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.cropsHarvested);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.cropsHarvested);
 
                     Component oldLine = toolStats.configTools.formatLore("crops-harvested", "{crops}", toolStats.numberFormat.formatInt(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -768,24 +687,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "blocks-mined": {
-                if (container.has(toolStats.blocksMined)) {
-                    Integer statValue = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
+                if (stats.has(toolStats.statRegistry.blocksMined)) {
+                    Integer statValue = stats.getInt(toolStats.statRegistry.blocksMined);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.blocksMined);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "blocks-mined");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.blocksMined);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.blocksMined);
 
                     Component oldLine = toolStats.configTools.formatLore("blocks-mined", "{blocks}", toolStats.numberFormat.formatInt(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -796,24 +709,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "damage-taken": {
-                if (container.has(toolStats.armorDamage)) {
-                    Double statValue = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
+                if (stats.has(toolStats.statRegistry.armorDamage)) {
+                    Double statValue = stats.getDouble(toolStats.statRegistry.armorDamage);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.armorDamage);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "damage-taken");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.armorDamage);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.armorDamage);
 
                     Component oldLine = toolStats.configTools.formatLore("damage-taken", "{damage}", toolStats.numberFormat.formatDouble(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -824,24 +731,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "damage-done": {
-                if (container.has(toolStats.damageDone)) {
-                    Double statValue = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
+                if (stats.has(toolStats.statRegistry.damageDone)) {
+                    Double statValue = stats.getDouble(toolStats.statRegistry.damageDone);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.damageDone);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "damage-done");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.damageDone);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.damageDone);
 
                     Component oldLine = toolStats.configTools.formatLore("damage-done", "{damage}", toolStats.numberFormat.formatDouble(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -852,24 +753,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "mob-kills": {
-                if (container.has(toolStats.mobKills)) {
-                    Integer statValue = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
+                if (stats.has(toolStats.statRegistry.mobKills)) {
+                    Integer statValue = stats.getInt(toolStats.statRegistry.mobKills);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.mobKills);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "mob-kills");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.mobKills);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.mobKills);
 
                     Component oldLine = toolStats.configTools.formatLore("kills.mob", "{kills}", toolStats.numberFormat.formatInt(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -880,24 +775,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "player-kills": {
-                if (container.has(toolStats.playerKills)) {
-                    Integer statValue = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
+                if (stats.has(toolStats.statRegistry.playerKills)) {
+                    Integer statValue = stats.getInt(toolStats.statRegistry.playerKills);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.playerKills);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "player-kills");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.playerKills);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.playerKills);
 
                     Component oldLine = toolStats.configTools.formatLore("kills.player", "{kills}", toolStats.numberFormat.formatInt(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -908,24 +797,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "sheep-sheared": {
-                if (container.has(toolStats.sheepSheared)) {
-                    Integer statValue = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
+                if (stats.has(toolStats.statRegistry.sheepSheared)) {
+                    Integer statValue = stats.getInt(toolStats.statRegistry.sheepSheared);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.sheepSheared);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "sheep-sheared");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.sheepSheared);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.sheepSheared);
 
                     Component oldLine = toolStats.configTools.formatLore("sheep-sheared", "{sheep}", toolStats.numberFormat.formatInt(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -936,27 +819,20 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "flight-time": {
-                if (container.has(toolStats.flightTime)) {
-                    Long statValue = container.get(toolStats.flightTime, PersistentDataType.LONG);
+                if (stats.has(toolStats.statRegistry.flightTime)) {
+                    Long statValue = stats.getLong(toolStats.statRegistry.flightTime);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.flightTime);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "flight-time");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.flightTime);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.flightTime);
 
-                    Map<String, String> timeFormatted = toolStats.numberFormat.formatTime(statValue);
-                    Component oldLine = toolStats.configTools.formatLoreMultiplePlaceholders("flight-time", timeFormatted);
+                    Component oldLine = toolStats.configTools.formatDuration("flight-time", statValue);
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
                     editedItemMeta.lore(newLore);
                 } else {
@@ -965,24 +841,18 @@ public class CommandToolStats implements TabExecutor {
                 break;
             }
             case "fight-caught": {
-                if (container.has(toolStats.fishCaught)) {
-                    Integer statValue = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
+                if (stats.has(toolStats.statRegistry.fishCaught)) {
+                    Integer statValue = stats.getInt(toolStats.statRegistry.fishCaught);
                     if (statValue == null) {
                         player.sendMessage(Component.text("Unable to get stat from item.", NamedTextColor.RED));
                         return;
                     }
-                    String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (tokens == null) {
+                    if (toolStats.itemChecker.readTokens(container) == 0) {
                         player.sendMessage(Component.text("Unable to get tokens from item.", NamedTextColor.RED));
                         return;
                     }
-                    container.remove(toolStats.fishCaught);
-                    List<String> newTokens = toolStats.itemChecker.removeToken(tokens, "fight-caught");
-                    if (newTokens.isEmpty()) {
-                        container.remove(toolStats.tokenApplied);
-                    } else {
-                        container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                    }
+                    stats.remove(toolStats.statRegistry.fishCaught);
+                    toolStats.itemChecker.removeToken(container, toolStats.statRegistry.fishCaught);
 
                     Component oldLine = toolStats.configTools.formatLore("fished.fish-caught", "{fish}", toolStats.numberFormat.formatInt(statValue));
                     List<Component> newLore = toolStats.itemLore.removeLore(editedItemMeta.lore(), oldLine);
@@ -997,6 +867,7 @@ public class CommandToolStats implements TabExecutor {
                 return;
             }
         }
+        toolStats.statStore.write(container, stats);
         editedItem.setItemMeta(editedItemMeta);
         player.getInventory().setItemInMainHand(editedItem);
         player.sendMessage(Component.text("Removed stat " + stat + " for held item!", NamedTextColor.GREEN));
@@ -1025,6 +896,9 @@ public class CommandToolStats implements TabExecutor {
             if (sender.hasPermission("toolstats.purge")) {
                 suggestions.add("purge");
             }
+            if (sender.hasPermission("toolstats.inspect")) {
+                suggestions.add("inspect");
+            }
             return suggestions.isEmpty() ? null : suggestions;
         }
 
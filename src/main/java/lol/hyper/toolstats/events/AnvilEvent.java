@@ -17,7 +17,12 @@
 
 package lol.hyper.toolstats.events;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatDefinition;
+import lol.hyper.toolstats.tools.StatType;
+import lol.hyper.toolstats.tools.StatValues;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -29,7 +34,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.Locale;
+import java.util.function.Predicate;
 
 public class AnvilEvent implements Listener {
 
@@ -42,7 +47,7 @@ public class AnvilEvent implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onAnvilEvent(PrepareAnvilEvent event) {
         // only listen if the token system is enabled
-        if (!toolStats.config.getBoolean("tokens.enabled")) {
+        if (!toolStats.settings.tokensEnabled()) {
             return;
         }
         AnvilInventory inventory = event.getInventory();
@@ -62,7 +67,7 @@ public class AnvilEvent implements Listener {
             return;
         }
 
-        PersistentDataContainer secondSlotContainer = secondSlot.getItemMeta().getPersistentDataContainer();
+        PersistentDataContainerView secondSlotContainer = secondSlot.getPersistentDataContainer();
 
         // make sure the 2nd item is one of ours
         if (!secondSlotContainer.has(toolStats.tokenType, PersistentDataType.STRING)) {
@@ -97,7 +102,7 @@ public class AnvilEvent implements Listener {
 
         // if the item is a mining tool
         if (toolStats.itemChecker.isMineTool(firstSlotMaterial)) {
-            if (firstSlotMaterial.toString().toLowerCase(Locale.ROOT).contains("hoe")) {
+            if (toolStats.itemChecker.isHoe(firstSlotMaterial)) {
                 // the item is a hoe
                 if (tokenType.equalsIgnoreCase("blocks-mined")) {
                     addToken(event, tokenType, "blocks-mined", clone);
@@ -114,7 +119,7 @@ public class AnvilEvent implements Listener {
                 addToken(event, tokenType, "blocks-mined", clone);
             }
             // axes are a mining tool, so double check them here for player/mob kills
-            if (firstSlotMaterial.toString().toLowerCase(Locale.ROOT).contains("_axe")) {
+            if (toolStats.itemChecker.isAxe(firstSlotMaterial)) {
                 if (tokenType.equalsIgnoreCase("player-kills")) {
                     addToken(event, tokenType, "player-kills", clone);
                     return;
@@ -193,116 +198,27 @@ public class AnvilEvent implements Listener {
         }
 
         // if the item already has the token, ignore
-        if (toolStats.itemChecker.checkTokens(firstSlotItem.getItemMeta().getPersistentDataContainer(), targetToken)) {
+        if (toolStats.itemChecker.checkTokens(firstSlotItem.getPersistentDataContainer(), targetToken)) {
             event.setResult(null);
             return;
         }
 
         // apply the token and set the result
         ItemStack newItem = toolStats.itemChecker.addToken(firstSlotItem, targetToken);
-        switch (targetToken) {
-            case "crops-mined": {
-                if (toolStats.config.getBoolean("enabled.crops-harvested")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateCropsMined(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "blocks-mined": {
-                if (toolStats.configTools.checkConfig(newItem.getType(), "blocks-mined")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateBlocksMined(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "damage-taken": {
-                if (toolStats.config.getBoolean("enabled.armor-damage")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateArmorDamage(newItem, 0.0, false));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "damage-done": {
-                if (toolStats.configTools.checkConfig(newItem.getType(), "damage-done")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateWeaponDamage(newItem, 0.0, false));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "mob-kills": {
-                if (toolStats.configTools.checkConfig(newItem.getType(), "mob-kills")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateMobKills(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "player-kills": {
-                if (toolStats.configTools.checkConfig(newItem.getType(), "player-kills")) {
-                    newItem.setItemMeta(toolStats.itemLore.updatePlayerKills(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "arrows-shot": {
-                if (toolStats.config.getBoolean("enabled.arrows-shot")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateArrowsShot(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "sheep-sheared": {
-                if (toolStats.config.getBoolean("enabled.sheep-sheared")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateSheepSheared(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "flight-time": {
-                if (toolStats.config.getBoolean("enabled.flight-time")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateFlightTime(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
-            }
-            case "fish-caught": {
-                if (toolStats.config.getBoolean("enabled.fish-caught")) {
-                    newItem.setItemMeta(toolStats.itemLore.updateFishCaught(newItem, 0));
-                } else {
-                    event.setResult(null);
-                    return;
-                }
-                break;
+        StatDefinition stat = toolStats.statRegistry.getByToken(targetToken);
+        if (stat != null) {
+            if (!toolStats.configTools.checkConfig(newItem.getType(), stat)) {
+                event.setResult(null);
+                return;
             }
+            newItem.setItemMeta(toolStats.itemLore.updateStat(newItem, stat, 0));
         }
         event.setResult(newItem);
         event.getView().setRepairCost(toolStats.itemChecker.getCost(targetToken));
     }
 
     /**
-     * Reset an item's stats. This function is... gross.
-     * Because of how the lore system is set up, we have to basically revert the stats.
-     * The lore function requires the old value, then adds x to the current stat.
-     * This is required, so it can find the old line in the lore and update it.
-     * So we simply make the stat negative, and add it to reset it to zero.
-     * Gross? Yeah, but I don't want to rewrite the lore system again...
+     * Reset an item's stats to zero.
      *
      * @param event     The PrepareAnvilEvent event.
      * @param inputItem The input item to reset.
@@ -311,87 +227,23 @@ public class AnvilEvent implements Listener {
         ItemStack finalItem = inputItem.clone();
         ItemMeta meta = finalItem.getItemMeta();
         PersistentDataContainer container = meta.getPersistentDataContainer();
+        Predicate<Component> ownedLines = toolStats.loreRenderer.ownedLines(finalItem, meta);
 
-        if (container.has(toolStats.playerKills)) {
-            Integer playerKills = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
-            if (playerKills == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updatePlayerKills(finalItem, -playerKills);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.mobKills)) {
-            Integer mobKills = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
-            if (mobKills == null) {
-                return;
+        StatValues stats = toolStats.statStore.read(container);
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            if (!stats.has(stat)) {
+                continue;
             }
-            meta = toolStats.itemLore.updateMobKills(finalItem, -mobKills);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.blocksMined)) {
-            Integer blocksMined = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
-            if (blocksMined == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateBlocksMined(finalItem, -blocksMined);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.cropsHarvested)) {
-            Integer cropsHarvested = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
-            if (cropsHarvested == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateCropsMined(finalItem, -cropsHarvested);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.fishCaught)) {
-            Integer fishCaught = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
-            if (fishCaught == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateFishCaught(finalItem, -fishCaught);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.sheepSheared)) {
-            Integer sheepSheared = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
-            if (sheepSheared == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateSheepSheared(finalItem, -sheepSheared);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.armorDamage)) {
-            Double armorDamage = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
-            if (armorDamage == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateArmorDamage(finalItem, -armorDamage, true);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.damageDone)) {
-            Double damageDone = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
-            if (damageDone == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateArmorDamage(finalItem, -damageDone, true);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.arrowsShot)) {
-            Integer arrowsShot = container.get(toolStats.arrowsShot, PersistentDataType.INTEGER);
-            if (arrowsShot == null) {
-                return;
-            }
-            meta = toolStats.itemLore.updateArrowsShot(finalItem, -arrowsShot);
-            finalItem.setItemMeta(meta);
-        }
-        if (container.has(toolStats.flightTime)) {
-            Long flightTime = container.get(toolStats.flightTime, PersistentDataType.LONG);
-            if (flightTime == null) {
-                return;
+            if (stat.type() == StatType.DOUBLE) {
+                stats.set(stat, 0.0);
+            } else {
+                stats.set(stat, 0L);
             }
-            meta = toolStats.itemLore.updateFlightTime(finalItem, -flightTime);
-            finalItem.setItemMeta(meta);
         }
+        toolStats.statStore.write(container, stats);
+
+        toolStats.loreRenderer.render(finalItem, meta, ownedLines);
+        finalItem.setItemMeta(meta);
         event.setResult(finalItem);
         event.getView().setRepairCost(toolStats.itemChecker.getCost("reset"));
     }
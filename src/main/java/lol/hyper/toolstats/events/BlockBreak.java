@@ -18,6 +18,8 @@
 package lol.hyper.toolstats.events;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatDelta;
+import lol.hyper.toolstats.tools.StatDefinition;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -29,9 +31,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
-
-import java.util.Locale;
 
 public class BlockBreak implements Listener {
 
@@ -47,7 +46,7 @@ public class BlockBreak implements Listener {
             return;
         }
         Player player = event.getPlayer();
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
         PlayerInventory inventory = player.getInventory();
@@ -64,34 +63,33 @@ public class BlockBreak implements Listener {
         }
 
         // if the item is a hoe
-        if (heldItem.getType().toString().toLowerCase(Locale.ROOT).contains("hoe")) {
+        if (toolStats.itemChecker.isHoe(heldItem.getType())) {
             // player is breaking crops with a hoe
             if (block.getBlockData() instanceof Ageable ageable) {
                 // ignore crops that are not fully grown
                 if (ageable.getAge() != ageable.getMaximumAge()) {
                     return;
                 }
-                ItemMeta newMeta = toolStats.itemLore.updateCropsMined(heldItem, 1);
-                if (newMeta != null) {
-                    // replace item in main hand
-                    heldItem.setItemMeta(newMeta);
-                }
+                updateHeldItem(player, inventory, heldItem, toolStats.statRegistry.cropsHarvested);
             } else {
                 // item is a hoe, but not breaking crops
-                ItemMeta newMeta = toolStats.itemLore.updateBlocksMined(heldItem, 1);
-                if (newMeta != null) {
-                    // replace item in main hand
-                    heldItem.setItemMeta(newMeta);
-                }
+                updateHeldItem(player, inventory, heldItem, toolStats.statRegistry.blocksMined);
             }
         } else {
             // item is not a hoe
             // update the blocks mined
-            ItemMeta newMeta = toolStats.itemLore.updateBlocksMined(heldItem, 1);
-            if (newMeta != null) {
-                // replace item in main hand
-                heldItem.setItemMeta(newMeta);
-            }
+            updateHeldItem(player, inventory, heldItem, toolStats.statRegistry.blocksMined);
+        }
+    }
+
+    private void updateHeldItem(Player player, PlayerInventory inventory, ItemStack heldItem, StatDefinition stat) {
+        // buffer the change and write it later
+        if (toolStats.statBuffer.isEnabled()) {
+            toolStats.statBuffer.add(player, inventory.getHeldItemSlot(), heldItem, stat, 1);
+            return;
         }
+        // the held item is the live stack, so it is edited in place
+        boolean deferLore = toolStats.statBuffer.deferLore(player, inventory.getHeldItemSlot());
+        toolStats.itemLore.applyDeltasInPlace(heldItem, deferLore, StatDelta.of(stat, 1));
     }
 }
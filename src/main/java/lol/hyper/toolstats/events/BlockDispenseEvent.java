@@ -17,25 +17,18 @@
 
 package lol.hyper.toolstats.events;
 
-import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
-import net.kyori.adventure.text.Component;
+import lol.hyper.toolstats.tools.PlayerRef;
 import org.bukkit.GameMode;
-import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockDispenseLootEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Objects;
 
 public class BlockDispenseEvent implements Listener {
 
@@ -53,7 +46,7 @@ public class BlockDispenseEvent implements Listener {
             return;
         }
 
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
 
@@ -63,79 +56,9 @@ public class BlockDispenseEvent implements Listener {
             return;
         }
 
-        List<ItemStack> newLoot = new ArrayList<>();
-        for (ItemStack lootItem : loot) {
-            ItemStack newLootItem = lootItem.clone();
-            Material lootItemMaterial = newLootItem.getType();
-            // if the item is one we want, do stuff
-            if (toolStats.itemChecker.isValidItem(lootItemMaterial)) {
-                newLootItem = addLootedOrigin(newLootItem, player);
-            }
-
-            // if the item returned null, add the original item
-            newLoot.add(Objects.requireNonNullElse(newLootItem, lootItem));
-        }
+        // items that get stamped are swapped for a copy, the rest are kept as they are
+        List<ItemStack> newLoot = new ArrayList<>(loot);
+        toolStats.originStamper.stampAll(newLoot, 2, PlayerRef.of(player));
         event.setDispensedLoot(newLoot);
     }
-
-    /**
-     * Adds lore to newly generated items.
-     *
-     * @param itemStack The item to add lore to.
-     * @param owner     The player that found the item.
-     * @return The item with the lore.
-     */
-    private ItemStack addLootedOrigin(ItemStack itemStack, Player owner) {
-        ItemStack newItem = itemStack.clone();
-        ItemMeta meta = itemStack.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-        long timeCreated = System.currentTimeMillis();
-        Date finalDate;
-        if (toolStats.config.getBoolean("normalize-time-creation")) {
-            finalDate = toolStats.numberFormat.normalizeTime(timeCreated);
-            timeCreated = finalDate.getTime();
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        if (container.has(toolStats.timeCreated, PersistentDataType.LONG) || container.has(toolStats.itemOwner, PersistentDataType.LONG)) {
-            return null;
-        }
-
-        // get the current lore the item
-        List<Component> lore;
-        if (meta.hasLore()) {
-            lore = meta.lore();
-        } else {
-            lore = new ArrayList<>();
-        }
-
-        // if creation date is enabled, add it
-        Component creationDate = toolStats.itemLore.formatCreationTime(timeCreated, 2, newItem);
-        if (creationDate != null) {
-            container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 2);
-            lore.add(creationDate);
-            meta.lore(lore);
-        }
-
-        // if ownership is enabled, add it
-        Component itemOwner = toolStats.itemLore.formatOwner(owner.getName(), 2, newItem);
-        if (itemOwner != null) {
-            container.set(toolStats.itemOwner, new UUIDDataType(), owner.getUniqueId());
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 2);
-            lore.add(itemOwner);
-            meta.lore(lore);
-        }
-
-        // if hash is enabled, add it
-        if (toolStats.config.getBoolean("generate-hash-for-items")) {
-            String hash = toolStats.hashMaker.makeHash(newItem.getType(), owner.getUniqueId(), timeCreated);
-            container.set(toolStats.hash, PersistentDataType.STRING, hash);
-        }
-
-        newItem.setItemMeta(meta);
-        return newItem;
-    }
 }
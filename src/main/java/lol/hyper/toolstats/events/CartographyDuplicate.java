@@ -47,7 +47,7 @@ public class CartographyDuplicate implements Listener {
             return;
         }
 
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
 
@@ -17,9 +17,8 @@
 
 package lol.hyper.toolstats.events;
 
-import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
-import net.kyori.adventure.text.Component;
+import lol.hyper.toolstats.tools.PlayerRef;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -28,13 +27,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
-
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 
 public class CraftItem implements Listener {
 
@@ -50,7 +42,7 @@ public class CraftItem implements Listener {
             return;
         }
         Player player = (Player) event.getWhoClicked();
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
         ItemStack craftedItem = event.getCurrentItem();
@@ -117,7 +109,7 @@ public class CraftItem implements Listener {
                         // if the slot was empty before we crafted, this means we just made it
                         if (oldSlotItem == null) {
                             // add the lore
-                            ItemStack newItem = addCraftOrigin(newSlotItem, player);
+                            ItemStack newItem = toolStats.originStamper.stamp(newSlotItem, 0, PlayerRef.of(player));
                             if (newItem != null) {
                                 player.getInventory().setItem(i, newItem);
                             }
@@ -129,80 +121,15 @@ public class CraftItem implements Listener {
         }
 
         // the player did not shift click
-        ItemStack newItem = addCraftOrigin(craftedItem, player);
+        ItemStack newItem = toolStats.originStamper.stamp(craftedItem, 0, PlayerRef.of(player));
         if (newItem != null) {
             // set the result
             event.setCurrentItem(newItem);
         }
     }
 
-    /**
-     * Adds crafted tags to item.
-     *
-     * @param itemStack The item add item to.
-     * @param owner     The player crafting.
-     * @return A copy of the item with the tags + lore.
-     */
-    private ItemStack addCraftOrigin(ItemStack itemStack, Player owner) {
-        // clone the item
-        ItemStack newItem = itemStack.clone();
-        ItemMeta meta = newItem.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", itemStack);
-            return null;
-        }
-        // get the current time
-        long timeCreated = System.currentTimeMillis();
-        Date finalDate;
-        if (toolStats.config.getBoolean("normalize-time-creation")) {
-            finalDate = toolStats.numberFormat.normalizeTime(timeCreated);
-            timeCreated = finalDate.getTime();
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if the item already has the tag
-        // this is to prevent duplicate tags
-        if (container.has(toolStats.timeCreated, PersistentDataType.LONG) || container.has(toolStats.itemOwner, PersistentDataType.LONG)) {
-            return null;
-        }
-
-        // get the current lore the item
-        List<Component> lore;
-        if (meta.hasLore()) {
-            lore = meta.lore();
-        } else {
-            lore = new ArrayList<>();
-        }
-
-        // if creation date is enabled, add it
-        Component creationDate = toolStats.itemLore.formatCreationTime(timeCreated, 0, newItem);
-        if (creationDate != null) {
-            container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 0);
-            lore.add(creationDate);
-            meta.lore(lore);
-        }
-
-        // if ownership is enabled, add it
-        Component itemOwner = toolStats.itemLore.formatOwner(owner.getName(), 0, newItem);
-        if (itemOwner != null) {
-            container.set(toolStats.itemOwner, new UUIDDataType(), owner.getUniqueId());
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 0);
-            lore.add(itemOwner);
-            meta.lore(lore);
-        }
-
-        // if hash is enabled, add it
-        if (toolStats.config.getBoolean("generate-hash-for-items")) {
-            String hash = toolStats.hashMaker.makeHash(newItem.getType(), owner.getUniqueId(), timeCreated);
-            container.set(toolStats.hash, PersistentDataType.STRING, hash);
-        }
-        newItem.setItemMeta(meta);
-        return newItem;
-    }
-
     private boolean isMapDuplication(CraftItemEvent event) {
-        if (!toolStats.config.getBoolean("enabled.map-duplicated-by")) {
+        if (!toolStats.settings.isEnabled("map-duplicated-by")) {
             return false;
         }
 
@@ -17,23 +17,16 @@
 
 package lol.hyper.toolstats.events;
 
-import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
-import net.kyori.adventure.text.Component;
+import lol.hyper.toolstats.tools.PlayerRef;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCreativeEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
 public class CreativeEvent implements Listener {
 
     private final ToolStats toolStats;
@@ -54,86 +47,16 @@ public class CreativeEvent implements Listener {
             return;
         }
 
-        ItemMeta spawnedItemMeta = spawnedItem.getItemMeta();
-        if (spawnedItemMeta == null) {
-            return;
-        }
         // if the item already has an origin set, don't add it again
         // this is needed since you can spam click an item and the event will fire again
-        PersistentDataContainer container = spawnedItemMeta.getPersistentDataContainer();
-        if (container.has(toolStats.originType, PersistentDataType.INTEGER)) {
+        if (spawnedItem.getPersistentDataContainer().has(toolStats.originType, PersistentDataType.INTEGER)) {
             return;
         }
 
         // add the tags to the item
-        ItemStack newItem = addCreativeOrigin(spawnedItem, player);
+        ItemStack newItem = toolStats.originStamper.stamp(spawnedItem, 6, PlayerRef.of(player));
         if (newItem != null) {
             event.setCursor(newItem);
         }
     }
-
-    /**
-     * Adds spawned in tags to item.
-     *
-     * @param itemStack The item add item to.
-     * @param owner     The player spawning in.
-     * @return A copy of the item with the tags + lore.
-     */
-    private ItemStack addCreativeOrigin(ItemStack itemStack, Player owner) {
-        ItemStack newSpawnedItem = itemStack.clone();
-        ItemMeta meta = newSpawnedItem.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", itemStack);
-            return null;
-        }
-        // get the current time
-        long timeCreated = System.currentTimeMillis();
-        Date finalDate;
-        if (toolStats.config.getBoolean("normalize-time-creation")) {
-            finalDate = toolStats.numberFormat.normalizeTime(timeCreated);
-            timeCreated = finalDate.getTime();
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if the item already has the tag
-        // this is to prevent duplicate tags
-        if (container.has(toolStats.timeCreated, PersistentDataType.LONG) || container.has(toolStats.itemOwner, PersistentDataType.LONG)) {
-            return null;
-        }
-
-        // get the current lore the item
-        List<Component> lore;
-        if (meta.hasLore()) {
-            lore = meta.lore();
-        } else {
-            lore = new ArrayList<>();
-        }
-
-        // if creation date is enabled, add it
-        Component creationDate = toolStats.itemLore.formatCreationTime(timeCreated, 6, newSpawnedItem);
-        if (creationDate != null) {
-            container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 6);
-            lore.add(creationDate);
-            meta.lore(lore);
-        }
-
-        // if ownership is enabled, add it
-        Component itemOwner = toolStats.itemLore.formatOwner(owner.getName(), 6, newSpawnedItem);
-        if (itemOwner != null) {
-            container.set(toolStats.itemOwner, new UUIDDataType(), owner.getUniqueId());
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 6);
-            lore.add(itemOwner);
-            meta.lore(lore);
-        }
-
-        // if hash is enabled, add it
-        if (toolStats.config.getBoolean("generate-hash-for-items")) {
-            String hash = toolStats.hashMaker.makeHash(newSpawnedItem.getType(), owner.getUniqueId(), timeCreated);
-            container.set(toolStats.hash, PersistentDataType.STRING, hash);
-        }
-
-        newSpawnedItem.setItemMeta(meta);
-        return newSpawnedItem;
-    }
 }
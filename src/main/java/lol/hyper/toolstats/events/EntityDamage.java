@@ -18,6 +18,9 @@
 package lol.hyper.toolstats.events;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.ItemChecker;
+import lol.hyper.toolstats.tools.StatDefinition;
+import lol.hyper.toolstats.tools.StatDelta;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
@@ -27,9 +30,9 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.projectiles.ProjectileSource;
 
 import java.util.*;
@@ -38,10 +41,15 @@ import java.util.concurrent.TimeUnit;
 
 public class EntityDamage implements Listener {
 
+    // PlayerInventory slot index for the off hand
+    private static final int OFF_HAND_SLOT = 40;
+
     private final ToolStats toolStats;
     // track mobs that are killed by a player
     public final Set<UUID> trackedMobs = ConcurrentHashMap.newKeySet();
-    private final List<EntityDamageEvent.DamageCause> ignoredCauses = Arrays.asList(EntityDamageEvent.DamageCause.SUICIDE, EntityDamageEvent.DamageCause.VOID, EntityDamageEvent.DamageCause.CUSTOM, EntityDamageEvent.DamageCause.KILL);
+    // hits on each player's weapon and bow this tick, written together at the end of the tick
+    private final Map<UUID, CombatHits> pendingHits = new ConcurrentHashMap<>();
+    private final Set<EntityDamageEvent.DamageCause> ignoredCauses = EnumSet.of(EntityDamageEvent.DamageCause.SUICIDE, EntityDamageEvent.DamageCause.VOID, EntityDamageEvent.DamageCause.CUSTOM, EntityDamageEvent.DamageCause.KILL);
 
     public EntityDamage(ToolStats toolStats) {
         this.toolStats = toolStats;
@@ -86,19 +94,8 @@ public class EntityDamage implements Listener {
                 return;
             }
 
-            // update their weapon's damage
-            updateWeaponDamage(playerAttackingInventory, event.getFinalDamage());
-
-            // the mob the player attacked died
-            if (modDied) {
-                // player killed another player
-                if (playerBeingAttacked) {
-                    updateWeaponKills(playerAttackingInventory, "player");
-                } else {
-                    // player kills a regular mob
-                    updateWeaponKills(playerAttackingInventory, "mob");
-                }
-            }
+            // update their weapon's damage and kills in one go
+            updateWeapon((Player) damager, playerAttackingInventory, finalDamage, killStat(modDied, playerBeingAttacked));
 
             trackMob(mobBeingAttacked);
         }
@@ -107,19 +104,8 @@ public class EntityDamage implements Listener {
         if (damager instanceof Trident trident) {
             ProjectileSource source = trident.getShooter();
             if (source instanceof Player) {
-                // update the trident's tracked damage
-                updateTridentDamage(trident, finalDamage);
-
-                // if the mob died from the trident
-                if (modDied) {
-                    // if the trident killed a player, update the kills
-                    if (playerBeingAttacked) {
-                        updateTridentKills(trident, "player");
-                    } else {
-                        // the trident killed a mob, update the kills
-                        updateTridentKills(trident, "mob");
-                    }
-                }
+                // update the trident's tracked damage and kills
+                updateTrident(trident, finalDamage, killStat(modDied, playerBeingAttacked));
 
                 trackMob(mobBeingAttacked);
             }
@@ -131,19 +117,8 @@ public class EntityDamage implements Listener {
 
             // a player shot the arrow
             if (source instanceof Player shootingPlayer) {
-                // update the player's bow damage
-                updateBowDamage(shootingPlayer.getInventory(), finalDamage);
-
-                // if the mob died from the arrow
-                if (modDied) {
-                    if (playerBeingAttacked) {
-                        // player killed another player with an arrow
-                        updateBowKills(shootingPlayer.getInventory(), "player");
-                    } else {
-                        // player killed mob with an arrow
-                        updateBowKills(shootingPlayer.getInventory(), "mob");
-                    }
-                }
+                // update the player's bow damage and kills
+                updateBow(shootingPlayer, shootingPlayer.getInventory(), finalDamage, killStat(modDied, playerBeingAttacked));
 
                 trackMob(mobBeingAttacked);
             }
@@ -164,131 +139,205 @@ public class EntityDamage implements Listener {
 
         // player is taking damage
         if (mobBeingAttacked instanceof Player playerTakingDamage) {
-            if (playerTakingDamage.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+            // nothing to add if the hit was fully blocked
+            double finalDamage = event.getFinalDamage();
+            if (finalDamage <= 0) {
                 return;
             }
-            updateArmorDamage(playerTakingDamage.getInventory(), event.getFinalDamage());
+            if (playerTakingDamage.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
+                return;
+            }
+            updateArmorDamage(playerTakingDamage, finalDamage);
         }
     }
 
-    private void updateArmorDamage(PlayerInventory playerInventory, double damage) {
-        ItemStack[] armorContents = playerInventory.getArmorContents();
-        for (ItemStack armorPiece : armorContents) {
-            if (armorPiece != null) {
-                if (toolStats.itemChecker.isArmor(armorPiece.getType())) {
-                    ItemMeta newItem = toolStats.itemLore.updateArmorDamage(armorPiece, damage, false);
-                    if (newItem != null) {
-                        armorPiece.setItemMeta(newItem);
-                    }
-                }
+    private void updateArmorDamage(Player player, double damage) {
+        PlayerInventory playerInventory = player.getInventory();
+        for (EquipmentSlot slot : ItemChecker.ARMOR_SLOTS) {
+            ItemStack armorPiece = playerInventory.getItem(slot);
+            if (armorPiece == null || !toolStats.itemChecker.isArmor(armorPiece.getType())) {
+                continue;
+            }
+            // only send the slots that changed, not all four
+            boolean deferLore = toolStats.statBuffer.deferLore(player, slot);
+            if (toolStats.itemLore.applyDeltasInPlace(armorPiece, deferLore, StatDelta.of(toolStats.statRegistry.armorDamage, damage))) {
+                playerInventory.setItem(slot, armorPiece);
             }
         }
-        // apply the new armor
-        playerInventory.setArmorContents(armorContents);
     }
 
-    private void updateBowDamage(PlayerInventory playerInventory, double damage) {
-        ItemStack heldBow = toolStats.itemChecker.getBow(playerInventory);
-        if (heldBow == null) {
-            return;
+    /**
+     * Get the kill stat to add to, if the attack was a kill.
+     *
+     * @param died            If the entity died.
+     * @param playerWasKilled If the entity is a player.
+     * @return The kill stat, or null if nothing died.
+     */
+    private StatDefinition killStat(boolean died, boolean playerWasKilled) {
+        if (!died) {
+            return null;
         }
+        return playerWasKilled ? toolStats.statRegistry.playerKills : toolStats.statRegistry.mobKills;
+    }
 
-        boolean isMain = playerInventory.getItemInMainHand().getType() == Material.BOW || playerInventory.getItemInMainHand().getType() == Material.CROSSBOW;
-        boolean isOffHand = playerInventory.getItemInOffHand().getType() == Material.BOW || playerInventory.getItemInOffHand().getType() == Material.CROSSBOW;
-        ItemMeta newBowDamage = toolStats.itemLore.updateWeaponDamage(heldBow, damage, false);
-        //toolStats.logger.info(newBowDamage.toString());
-
-        // player is shooting another player
-        if (newBowDamage != null) {
-            if (isMain && isOffHand) {
-                playerInventory.getItemInMainHand().setItemMeta(newBowDamage);
-            } else if (isMain) {
-                playerInventory.getItemInMainHand().setItemMeta(newBowDamage);
-            } else if (isOffHand) {
-                playerInventory.getItemInOffHand().setItemMeta(newBowDamage);
-            }
+    /**
+     * Build the stat changes for a hit.
+     *
+     * @param damage   The damage done.
+     * @param killStat The kill stat to add to, or null.
+     * @return The changes to apply.
+     */
+    private StatDelta[] hitDeltas(double damage, StatDefinition killStat) {
+        StatDelta damageDelta = StatDelta.of(toolStats.statRegistry.damageDone, damage);
+        if (killStat == null) {
+            return new StatDelta[]{damageDelta};
         }
+        return new StatDelta[]{damageDelta, StatDelta.of(killStat, 1)};
     }
 
-    private void updateBowKills(PlayerInventory playerInventory, String type) {
+    private void updateBow(Player player, PlayerInventory playerInventory, double damage, StatDefinition killStat) {
         ItemStack heldBow = toolStats.itemChecker.getBow(playerInventory);
         if (heldBow == null) {
             return;
         }
 
-        boolean isMain = playerInventory.getItemInMainHand().getType() == Material.BOW || playerInventory.getItemInMainHand().getType() == Material.CROSSBOW;
-        boolean isOffHand = playerInventory.getItemInOffHand().getType() == Material.BOW || playerInventory.getItemInOffHand().getType() == Material.CROSSBOW;
-
-        if (type.equalsIgnoreCase("mob")) {
-            // player is shooting a mob
-            ItemMeta newBow = toolStats.itemLore.updateMobKills(heldBow, 1);
-            if (newBow != null) {
-                if (isMain && isOffHand) {
-                    playerInventory.getItemInMainHand().setItemMeta(newBow);
-                } else if (isMain) {
-                    playerInventory.getItemInMainHand().setItemMeta(newBow);
-                } else if (isOffHand) {
-                    playerInventory.getItemInOffHand().setItemMeta(newBow);
-                }
-            }
+        // a multishot volley hits several times in one tick, so the hits are added up
+        Material mainHand = playerInventory.getItemInMainHand().getType();
+        boolean inMainHand = mainHand == Material.BOW || mainHand == Material.CROSSBOW;
+        int slot = inMainHand ? playerInventory.getHeldItemSlot() : OFF_HAND_SLOT;
+        bufferHit(player, true, slot, heldBow.getType(), damage, killStat);
+    }
+
+    private void updateTrident(Trident trident, double damage, StatDefinition killStat) {
+        // the entity hands out a copy, so it has to be set back
+        ItemStack newTrident = trident.getItemStack();
+        if (toolStats.itemLore.applyDeltasInPlace(newTrident, hitDeltas(damage, killStat))) {
+            trident.setItemStack(newTrident);
+        }
+    }
+
+    private void updateWeapon(Player player, PlayerInventory playerInventory, double damage, StatDefinition killStat) {
+        // a sweep hits several mobs in one tick, so the hits are added up
+        ItemStack heldWeapon = playerInventory.getItemInMainHand();
+        bufferHit(player, false, playerInventory.getHeldItemSlot(), heldWeapon.getType(), damage, killStat);
+    }
+
+    /**
+     * Add a hit to the player's pending hits. The first hit in a tick schedules
+     * them to be written once the tick is over.
+     *
+     * @param player   The player.
+     * @param bow      If the hit was from a bow, otherwise it was a melee weapon.
+     * @param slot     The inventory slot of the item.
+     * @param type     The item type.
+     * @param damage   The damage done.
+     * @param killStat The kill stat to add to, or null.
+     */
+    private void bufferHit(Player player, boolean bow, int slot, Material type, double damage, StatDefinition killStat) {
+        UUID playerId = player.getUniqueId();
+        CombatHits hits = pendingHits.get(playerId);
+        if (hits == null) {
+            hits = new CombatHits();
+            pendingHits.put(playerId, hits);
+            player.getScheduler().run(toolStats, scheduledTask -> flushHits(player, true), () -> pendingHits.remove(playerId));
         }
 
-        if (type.equalsIgnoreCase("player")) {
-            ItemMeta newBowKills = toolStats.itemLore.updatePlayerKills(heldBow, 1);
-            if (newBowKills != null) {
-                if (isMain && isOffHand) {
-                    playerInventory.getItemInMainHand().setItemMeta(newBowKills);
-                } else if (isMain) {
-                    playerInventory.getItemInMainHand().setItemMeta(newBowKills);
-                } else if (isOffHand) {
-                    playerInventory.getItemInOffHand().setItemMeta(newBowKills);
-                }
+        PendingHit hit = bow ? hits.bow : hits.weapon;
+        if (hit != null && (hit.slot != slot || hit.type != type)) {
+            // the player is using another item now, write what we have first
+            writeHit(player, hit, true);
+            hit = null;
+        }
+        if (hit == null) {
+            hit = new PendingHit(slot, type);
+            if (bow) {
+                hits.bow = hit;
+            } else {
+                hits.weapon = hit;
             }
         }
+
+        hit.damage += damage;
+        if (killStat == toolStats.statRegistry.mobKills) {
+            hit.mobKills++;
+        } else if (killStat == toolStats.statRegistry.playerKills) {
+            hit.playerKills++;
+        }
     }
 
-    private void updateTridentKills(Trident trident, String type) {
-        ItemStack newTrident = trident.getItemStack();
-        ItemMeta newKills;
-        if (type.equalsIgnoreCase("player")) {
-            newKills = toolStats.itemLore.updatePlayerKills(trident.getItemStack(), 1);
-        } else {
-            newKills = toolStats.itemLore.updateMobKills(trident.getItemStack(), 1);
+    /**
+     * Write a player's pending hits to their items.
+     *
+     * @param player The player.
+     */
+    public void flushHits(Player player) {
+        flushHits(player, false);
+    }
+
+    private void flushHits(Player player, boolean deferLore) {
+        CombatHits hits = pendingHits.remove(player.getUniqueId());
+        if (hits == null) {
+            return;
         }
-        if (newKills != null) {
-            newTrident.setItemMeta(newKills);
-            trident.setItemStack(newTrident);
+        if (hits.weapon != null) {
+            writeHit(player, hits.weapon, deferLore);
+        }
+        if (hits.bow != null) {
+            writeHit(player, hits.bow, deferLore);
         }
     }
 
-    private void updateTridentDamage(Trident trident, double damage) {
-        ItemStack newTrident = trident.getItemStack();
-        ItemMeta newDamage = toolStats.itemLore.updateWeaponDamage(trident.getItemStack(), damage, false);
-        if (newDamage != null) {
-            newTrident.setItemMeta(newDamage);
-            trident.setItemStack(newTrident);
+    /**
+     * Write pending hits for every online player from the current thread.
+     * Only safe when no region is ticking, like on shutdown.
+     */
+    public void flushAllHits() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            flushHits(player);
         }
+        pendingHits.clear();
     }
 
-    private void updateWeaponDamage(PlayerInventory playerInventory, double damage) {
-        ItemStack heldWeapon = playerInventory.getItemInMainHand();
-        ItemMeta newHeldWeaponMeta = toolStats.itemLore.updateWeaponDamage(heldWeapon, damage, false);
-        if (newHeldWeaponMeta != null) {
-            playerInventory.getItemInMainHand().setItemMeta(newHeldWeaponMeta);
+    private void writeHit(Player player, PendingHit hit, boolean deferLore) {
+        ItemStack item = player.getInventory().getItem(hit.slot);
+        // the item was moved or replaced, don't put stats on the wrong item
+        if (item == null || item.getType() != hit.type) {
+            return;
         }
-    }
 
-    private void updateWeaponKills(PlayerInventory playerInventory, String type) {
-        ItemStack heldWeapon = playerInventory.getItemInMainHand();
-        ItemMeta newHeldWeaponMeta = null;
-        if (type.equalsIgnoreCase("player")) {
-            newHeldWeaponMeta = toolStats.itemLore.updatePlayerKills(heldWeapon, 1);
+        List<StatDelta> deltas = new ArrayList<>(3);
+        deltas.add(StatDelta.of(toolStats.statRegistry.damageDone, hit.damage));
+        if (hit.mobKills > 0) {
+            deltas.add(StatDelta.of(toolStats.statRegistry.mobKills, hit.mobKills));
         }
-        if (type.equalsIgnoreCase("mob")) {
-            newHeldWeaponMeta = toolStats.itemLore.updateMobKills(heldWeapon, 1);
+        if (hit.playerKills > 0) {
+            deltas.add(StatDelta.of(toolStats.statRegistry.playerKills, hit.playerKills));
         }
-        if (newHeldWeaponMeta != null) {
-            playerInventory.getItemInMainHand().setItemMeta(newHeldWeaponMeta);
+        // the item is the live stack from the player's inventory, so it is edited in place
+        toolStats.itemLore.applyDeltasInPlace(item, deferLore && toolStats.statBuffer.deferLore(player, hit.slot), deltas.toArray(new StatDelta[0]));
+    }
+
+    /**
+     * The hits on one item that are waiting to be written.
+     */
+    private static final class PendingHit {
+        private final int slot;
+        private final Material type;
+        private double damage;
+        private int mobKills;
+        private int playerKills;
+
+        private PendingHit(int slot, Material type) {
+            this.slot = slot;
+            this.type = type;
         }
     }
+
+    /**
+     * A player's pending hits for their melee weapon and their bow.
+     */
+    private static final class CombatHits {
+        private PendingHit weapon;
+        private PendingHit bow;
+    }
 }
@@ -17,9 +17,8 @@
 
 package lol.hyper.toolstats.events;
 
-import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
-import net.kyori.adventure.text.Component;
+import lol.hyper.toolstats.tools.PlayerRef;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.entity.Entity;
@@ -31,14 +30,8 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
 public class PickupItem implements Listener {
 
     private final ToolStats toolStats;
@@ -54,21 +47,16 @@ public class PickupItem implements Listener {
         }
         Entity entity = event.getEntity();
         if (entity instanceof Player player) {
-            if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+            if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
                 return;
             }
             Item item = event.getItem();
             if (item.getType() == EntityType.ITEM) {
                 ItemStack itemStack = event.getItem().getItemStack();
-                ItemMeta meta = itemStack.getItemMeta();
-                if (meta == null) {
-                    return;
-                }
-                PersistentDataContainer container = meta.getPersistentDataContainer();
                 if (itemStack.getType() == Material.ELYTRA) {
                     // the elytra has the new key, set the lore to it
-                    if (container.has(toolStats.newElytra, PersistentDataType.INTEGER)) {
-                        ItemStack newElytra = addElytraOrigin(itemStack, (Player) event.getEntity());
+                    if (itemStack.getPersistentDataContainer().has(toolStats.newElytra, PersistentDataType.INTEGER)) {
+                        ItemStack newElytra = toolStats.originStamper.stampElytra(itemStack, PlayerRef.of(player));
                         if (newElytra != null) {
                             item.setItemStack(newElytra);
                         }
@@ -77,67 +65,4 @@ public class PickupItem implements Listener {
             }
         }
     }
-
-    /**
-     * Adds "looted by" tags for elytras.
-     *
-     * @param itemStack The elytra to add lore to.
-     * @param owner     The player who found it.
-     */
-    private ItemStack addElytraOrigin(ItemStack itemStack, Player owner) {
-        ItemStack finalItem = itemStack.clone();
-        ItemMeta meta = finalItem.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-        long timeCreated = System.currentTimeMillis();
-        Date finalDate;
-        if (toolStats.config.getBoolean("normalize-time-creation")) {
-            finalDate = toolStats.numberFormat.normalizeTime(timeCreated);
-            timeCreated = finalDate.getTime();
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        if (!toolStats.config.getBoolean("enabled.elytra-tag")) {
-            return null;
-        }
-
-        // only make the hash if it's enabled
-        if (toolStats.config.getBoolean("generate-hash-for-items")) {
-            String hash = toolStats.hashMaker.makeHash(finalItem.getType(), owner.getUniqueId(), timeCreated);
-            container.set(toolStats.hash, PersistentDataType.STRING, hash);
-        }
-
-        // get the current lore the item
-        List<Component> lore;
-        if (meta.hasLore()) {
-            lore = meta.lore();
-        } else {
-            lore = new ArrayList<>();
-        }
-
-        container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
-        container.set(toolStats.itemOwner, new UUIDDataType(), owner.getUniqueId());
-        container.set(toolStats.originType, PersistentDataType.INTEGER, 4);
-        container.remove(toolStats.newElytra);
-
-        Component creationDate = toolStats.itemLore.formatCreationTime(timeCreated, 4, finalItem);
-        if (creationDate != null) {
-            container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 4);
-            lore.add(creationDate);
-            meta.lore(lore);
-        }
-
-        Component itemOwner = toolStats.itemLore.formatOwner(owner.getName(), 4, finalItem);
-        if (itemOwner != null) {
-            container.set(toolStats.itemOwner, new UUIDDataType(), owner.getUniqueId());
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 4);
-            lore.add(itemOwner);
-            meta.lore(lore);
-        }
-
-        finalItem.setItemMeta(meta);
-        return finalItem;
-    }
 }
@@ -62,7 +62,7 @@ public class PlayerInteract implements Listener {
 
     public void trackLootableOpen(Block block, Player player) {
         BlockKey key = BlockKey.of(block);
-        PlayerRef playerRef = new PlayerRef(player.getUniqueId(), player.getName());
+        PlayerRef playerRef = PlayerRef.of(player);
         ExpiringValue<PlayerRef> entry = new ExpiringValue<>(playerRef, System.nanoTime() + RECENT_OPEN_TTL_NANOS);
         openedChests.put(key, entry);
 
@@ -71,7 +71,7 @@ public class PlayerInteract implements Listener {
 
     public void trackMinecartOpen(StorageMinecart minecart, Player player) {
         UUID key = minecart.getUniqueId();
-        PlayerRef playerRef = new PlayerRef(player.getUniqueId(), player.getName());
+        PlayerRef playerRef = PlayerRef.of(player);
         ExpiringValue<PlayerRef> entry = new ExpiringValue<>(playerRef, System.nanoTime() + RECENT_OPEN_TTL_NANOS);
         openedMineCarts.put(key, entry);
 
@@ -111,14 +111,14 @@ public class PlayerInteract implements Listener {
     @EventHandler
     public void onInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
 
         Action action = event.getAction();
         if (action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK) {
             ItemStack usedItem = event.getItem();
-            if (usedItem != null && usedItem.getType() == Material.MAP && toolStats.config.getBoolean("enabled.map-created-by")) {
+            if (usedItem != null && usedItem.getType() == Material.MAP && toolStats.settings.isEnabled("map-created-by")) {
                 PlayerInventory inventory = player.getInventory();
                 EquipmentSlot usedHand = event.getHand();
                 boolean usedMainHand = usedHand == null || usedHand == EquipmentSlot.HAND;
@@ -190,7 +190,7 @@ public class PlayerInteract implements Listener {
     public void onInteract(PlayerInteractEntityEvent event) {
         Entity clicked = event.getRightClicked();
         Player player = event.getPlayer();
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
         // store when a player opens a minecart
@@ -17,6 +17,7 @@
 
 package lol.hyper.toolstats.events;
 
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
 import org.bukkit.entity.Player;
@@ -44,6 +45,8 @@ public class PlayerJoin implements Listener {
         Player player = event.getPlayer();
 
         Inventory inventory = player.getInventory();
+        boolean tokensEnabled = toolStats.settings.tokensEnabled();
+        boolean hashEnabled = toolStats.settings.generateHash();
         for (ItemStack itemStack : inventory) {
             if (itemStack == null) {
                 continue;
@@ -52,27 +55,33 @@ public class PlayerJoin implements Listener {
             if (!toolStats.itemChecker.isValidItem(itemStack.getType())) {
                 continue;
             }
+            // check the read-only view first, only copy the meta if something will change
+            PersistentDataContainerView view = itemStack.getPersistentDataContainer();
+            // only the tokens for stats the item has but no token for yet
+            int missingTokens = 0;
+            if (tokensEnabled && toolStats.itemChecker.keyCheck(view) && !view.has(toolStats.tokenType)) {
+                missingTokens = toolStats.itemChecker.tokensForStats(toolStats.statStore.read(view)) & ~toolStats.itemChecker.getTokens(view);
+            }
+            boolean addTokens = missingTokens != 0;
+            boolean hasHash = view.has(toolStats.hash, PersistentDataType.STRING);
+            if (!addTokens && hashEnabled == hasHash) {
+                continue;
+            }
+
             ItemMeta itemMeta = itemStack.getItemMeta();
             if (itemMeta == null) {
                 continue;
             }
             PersistentDataContainer container = itemMeta.getPersistentDataContainer();
 
-            if (toolStats.config.getBoolean("tokens.enabled")) {
-                // if the token system is on and the item doesn't have stat keys
-                if (toolStats.itemChecker.keyCheck(container) && !container.has(toolStats.tokenType)) {
-                    // add the tokens
-                    String newTokens = toolStats.itemChecker.addTokensToExisting(itemStack);
-                    if (newTokens == null) {
-                        return;
-                    }
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                    itemStack.setItemMeta(itemMeta);
-                }
+            // if the token system is on and the item has stats without tokens
+            if (addTokens) {
+                // add the missing tokens
+                toolStats.itemChecker.setTokens(container, toolStats.itemChecker.readTokens(container) | missingTokens);
+                itemStack.setItemMeta(itemMeta);
             }
 
-            // generate a hash if the item doesn't have one
-            if (toolStats.config.getBoolean("generate-hash-for-items")) {
+            if (hashEnabled) {
                 if (!container.has(toolStats.hash, PersistentDataType.STRING)) {
                     UUID owner = null;
                     // get the current owner if there is one.
@@ -88,14 +97,13 @@ public class PlayerJoin implements Listener {
                         // if there is no time created, use now
                         timestamp = System.currentTimeMillis();
                     }
-                    String hash = toolStats.hashMaker.makeHash(itemStack.getType(), owner, timestamp);
-                    container.set(toolStats.hash, PersistentDataType.STRING, hash);
+                    toolStats.hashMaker.writeHash(container, itemStack.getType(), owner, timestamp);
                     itemStack.setItemMeta(itemMeta);
                 }
             } else {
                 // if hashes are disabled but the item has one, remove it.
                 if (container.has(toolStats.hash, PersistentDataType.STRING)) {
-                    container.remove(toolStats.hash);
+                    toolStats.hashMaker.removeHash(container);
                     itemStack.setItemMeta(itemMeta);
                 }
             }
@@ -18,6 +18,8 @@
 package lol.hyper.toolstats.events;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.ItemChecker;
+import lol.hyper.toolstats.tools.StatDelta;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -25,14 +27,13 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityToggleGlideEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.Map;
 
 public class PlayerMove implements Listener {
 
@@ -49,7 +50,7 @@ public class PlayerMove implements Listener {
             return;
         }
 
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
 
@@ -70,19 +71,17 @@ public class PlayerMove implements Listener {
         }
 
         PlayerInventory inventory = player.getInventory();
-        ItemStack[] armor = inventory.getArmorContents().clone();
-        for (ItemStack armorPiece : armor) {
-            if (armorPiece == null) {
+        for (EquipmentSlot slot : ItemChecker.ARMOR_SLOTS) {
+            ItemStack armorPiece = inventory.getItem(slot);
+            if (armorPiece == null || !toolStats.itemChecker.canGlide(armorPiece)) {
                 continue;
             }
-            if (toolStats.itemChecker.canGlide(armorPiece)) {
-                ItemMeta newMeta = toolStats.itemLore.updateFlightTime(armorPiece, duration);
-                if (newMeta != null) {
-                    armorPiece.setItemMeta(newMeta);
-                }
+            // only send the slots that changed, not all four
+            boolean deferLore = toolStats.statBuffer.deferLore(player, slot);
+            if (toolStats.itemLore.applyDeltasInPlace(armorPiece, deferLore, StatDelta.of(toolStats.statRegistry.flightTime, duration))) {
+                inventory.setItem(slot, armorPiece);
             }
         }
-        inventory.setArmorContents(armor);
     }
 
     @EventHandler
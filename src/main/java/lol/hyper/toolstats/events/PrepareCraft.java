@@ -23,8 +23,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.PrepareItemCraftEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
 
 public class PrepareCraft implements Listener {
 
@@ -39,17 +37,14 @@ public class PrepareCraft implements Listener {
         // get the items in the crafting grid
         ItemStack[] grid = event.getInventory().getMatrix();
         for (ItemStack item : grid) {
-            if (item == null) {
-                continue;
-            }
-            ItemMeta meta = item.getItemMeta();
-            if (meta == null) {
+            if (item == null || item.isEmpty()) {
                 continue;
             }
             // if the paper item has our PDC, cancel it
-            PersistentDataContainer container = meta.getPersistentDataContainer();
-            if (container.has(toolStats.tokenType)) {
+            // the read-only view doesn't copy the item's meta
+            if (item.getPersistentDataContainer().has(toolStats.tokenType)) {
                 event.getInventory().setResult(null);
+                return;
             }
         }
     }
@@ -18,8 +18,8 @@
 package lol.hyper.toolstats.events;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatDelta;
 import org.bukkit.GameMode;
-import org.bukkit.Material;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Sheep;
@@ -28,8 +28,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
 
 public class SheepShear implements Listener {
 
@@ -45,7 +43,7 @@ public class SheepShear implements Listener {
             return;
         }
         Player player = event.getPlayer();
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
         Entity entity = event.getRightClicked();
@@ -65,18 +63,7 @@ public class SheepShear implements Listener {
         }
 
         // update the stats
-        ItemMeta newShears = toolStats.itemLore.updateSheepSheared(heldShears, 1);
-        if (newShears != null) {
-            PlayerInventory inventory = player.getInventory();
-            boolean isMain = inventory.getItemInMainHand().getType() == Material.SHEARS;
-            boolean isOffHand = inventory.getItemInOffHand().getType() == Material.SHEARS;
-            if (isMain && isOffHand) {
-                inventory.getItemInMainHand().setItemMeta(newShears);
-            } else if (isMain) {
-                inventory.getItemInMainHand().setItemMeta(newShears);
-            } else if (isOffHand) {
-                inventory.getItemInOffHand().setItemMeta(newShears);
-            }
-        }
+        // the shears are the live stack from the player's hand, so they are edited in place
+        toolStats.itemLore.applyDeltasInPlace(heldShears, StatDelta.of(toolStats.statRegistry.sheepSheared, 1));
     }
 }
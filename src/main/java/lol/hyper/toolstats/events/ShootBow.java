@@ -18,8 +18,8 @@
 package lol.hyper.toolstats.events;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatDelta;
 import org.bukkit.GameMode;
-import org.bukkit.Material;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -27,8 +27,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
 
 public class ShootBow implements Listener {
 
@@ -46,7 +44,7 @@ public class ShootBow implements Listener {
             return;
         }
 
-        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.config.getBoolean("allow-creative")) {
+        if (player.getGameMode() == GameMode.CREATIVE && !toolStats.settings.allowCreative()) {
             return;
         }
 
@@ -56,18 +54,7 @@ public class ShootBow implements Listener {
             return;
         }
 
-        ItemMeta newBow = toolStats.itemLore.updateArrowsShot(heldBow, 1);
-        if (newBow != null) {
-            PlayerInventory inventory = player.getInventory();
-            boolean isMain = inventory.getItemInMainHand().getType() == Material.BOW || inventory.getItemInMainHand().getType() == Material.CROSSBOW;
-            boolean isOffHand = inventory.getItemInOffHand().getType() == Material.BOW || inventory.getItemInOffHand().getType() == Material.CROSSBOW;
-            if (isMain && isOffHand) {
-                inventory.getItemInMainHand().setItemMeta(newBow);
-            } else if (isMain) {
-                inventory.getItemInMainHand().setItemMeta(newBow);
-            } else if (isOffHand) {
-                inventory.getItemInOffHand().setItemMeta(newBow);
-            }
-        }
+        // the bow is the live stack from the player's hand, so it is edited in place
+        toolStats.itemLore.applyDeltasInPlace(heldBow, StatDelta.of(toolStats.statRegistry.arrowsShot, 1));
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.events;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import lol.hyper.toolstats.ToolStats;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes buffered stats and held back lore to items before the items can move around.
+ */
+public class StatFlush implements Listener {
+
+    private final ToolStats toolStats;
+    // players that were flushed since they opened their current inventory
+    private final Set<UUID> flushedInventory = ConcurrentHashMap.newKeySet();
+
+    public StatFlush(ToolStats toolStats) {
+        this.toolStats = toolStats;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onHeldItemChange(PlayerItemHeldEvent event) {
+        flush(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        flush(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        if (event.getPlayer() instanceof Player player) {
+            flush(player);
+            flushedInventory.add(player.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onInventoryClick(InventoryClickEvent event) {
+        // opening your own inventory does not fire an event, so catch the first click
+        // later clicks in the same inventory have nothing new to write
+        if (event.getWhoClicked() instanceof Player player && flushedInventory.add(player.getUniqueId())) {
+            flush(player);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        flushedInventory.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onDrop(PlayerDropItemEvent event) {
+        Player player = event.getPlayer();
+        // the dropped item already left its slot, so its buffered stats are written to it directly
+        ItemStack dropped = event.getItemDrop().getItemStack();
+        boolean changed = toolStats.statBuffer.flushItem(player, dropped, player.getInventory().getHeldItemSlot());
+        changed |= toolStats.itemLore.refreshLoreInPlace(dropped);
+        if (changed) {
+            event.getItemDrop().setItemStack(dropped);
+        }
+        flush(player);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onDeath(PlayerDeathEvent event) {
+        flush(event.getEntity());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        flushedInventory.remove(event.getPlayer().getUniqueId());
+        flush(event.getPlayer());
+        // anything left is for items the player no longer has
+        toolStats.statBuffer.discard(event.getPlayer());
+    }
+
+    /**
+     * Write everything that is waiting for every online player's items. Each
+     * player is flushed on their own entity scheduler, so their inventory is
+     * only touched by the region that owns them.
+     *
+     * @return Completes once every player was flushed or left.
+     */
+    public CompletableFuture<Void> flushOnlinePlayers() {
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            ScheduledTask task = player.getScheduler().run(toolStats, scheduledTask -> {
+                try {
+                    flush(player);
+                } finally {
+                    done.complete(null);
+                }
+            }, () -> done.complete(null));
+            if (task == null) {
+                // the player was already removed, quitting flushed them
+                done.complete(null);
+            }
+            flushes.add(done);
+        }
+        return CompletableFuture.allOf(flushes.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Write everything that is waiting for a player's items.
+     *
+     * @param player The player.
+     */
+    public void flush(Player player) {
+        toolStats.statBuffer.flush(player);
+        toolStats.mobKill.flushHits(player);
+
+        PlayerInventory inventory = player.getInventory();
+        for (int slot : toolStats.statBuffer.takeStaleLore(player)) {
+            ItemStack item = inventory.getItem(slot);
+            if (toolStats.itemLore.refreshLoreInPlace(item)) {
+                inventory.setItem(slot, item);
+            }
+        }
+    }
+}
@@ -17,9 +17,8 @@
 
 package lol.hyper.toolstats.events;
 
-import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
-import net.kyori.adventure.text.Component;
+import lol.hyper.toolstats.tools.PlayerRef;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -31,13 +30,6 @@ import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MerchantInventory;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
-
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 
 public class VillagerTrade implements Listener {
 
@@ -95,7 +87,7 @@ public class VillagerTrade implements Listener {
                         // if the slot was empty before we traded, this means we just traded it
                         if (oldSlotItem == null) {
                             // add the lore
-                            ItemStack newItem = addTradeOrigin(newSlotItem, player);
+                            ItemStack newItem = toolStats.originStamper.stamp(newSlotItem, 3, PlayerRef.of(player));
                             if (newItem != null) {
                                 player.getInventory().setItem(i, newItem);
                             }
@@ -105,73 +97,10 @@ public class VillagerTrade implements Listener {
             }, null, 1);
             return;
         }
-        ItemStack newItem = addTradeOrigin(tradedItem, player);
+        ItemStack newItem = toolStats.originStamper.stamp(tradedItem, 3, PlayerRef.of(player));
         if (newItem != null) {
             // set the new item
             inventory.setItem(event.getSlot(), newItem);
         }
     }
-
-    /**
-     * Adds "traded by" tags to item.
-     *
-     * @param oldItem The item to add lore.
-     * @param owner   The player who traded.
-     * @return The item with lore.
-     */
-    private ItemStack addTradeOrigin(ItemStack oldItem, Player owner) {
-        ItemStack newItem = oldItem.clone();
-        ItemMeta meta = newItem.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", newItem);
-            return null;
-        }
-        long timeCreated = System.currentTimeMillis();
-        Date finalDate;
-        if (toolStats.config.getBoolean("normalize-time-creation")) {
-            finalDate = toolStats.numberFormat.normalizeTime(timeCreated);
-            timeCreated = finalDate.getTime();
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        if (container.has(toolStats.timeCreated, PersistentDataType.LONG) || container.has(toolStats.itemOwner, PersistentDataType.LONG)) {
-            return null;
-        }
-
-        // get the current lore the item
-        List<Component> lore;
-        if (meta.hasLore()) {
-            lore = meta.lore();
-        } else {
-            lore = new ArrayList<>();
-        }
-
-
-        // if creation date is enabled, add it
-        Component creationDate = toolStats.itemLore.formatCreationTime(timeCreated, 3, newItem);
-        if (creationDate != null) {
-            container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 3);
-            lore.add(creationDate);
-            meta.lore(lore);
-        }
-
-        // if ownership is enabled, add it
-        Component itemOwner = toolStats.itemLore.formatOwner(owner.getName(), 3, newItem);
-        if (itemOwner != null) {
-            container.set(toolStats.itemOwner, new UUIDDataType(), owner.getUniqueId());
-            container.set(toolStats.originType, PersistentDataType.INTEGER, 3);
-            lore.add(itemOwner);
-            meta.lore(lore);
-        }
-
-        // if hash is enabled, add it
-        if (toolStats.config.getBoolean("generate-hash-for-items")) {
-            String hash = toolStats.hashMaker.makeHash(newItem.getType(), owner.getUniqueId(), timeCreated);
-            container.set(toolStats.hash, PersistentDataType.STRING, hash);
-        }
-
-        newItem.setItemMeta(meta);
-        return newItem;
-    }
 }
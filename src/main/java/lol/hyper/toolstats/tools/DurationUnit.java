@@ -0,0 +1,90 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools;
+
+/**
+ * The units a duration is broken down into for lore, largest first.
+ */
+public enum DurationUnit {
+    YEARS("years", "y", 365L * 24 * 60 * 60), // Approximation
+    MONTHS("months", "mo", 30L * 24 * 60 * 60), // Approximation
+    DAYS("days", "d", 24L * 60 * 60),
+    HOURS("hours", "h", 60L * 60),
+    MINUTES("minutes", "m", 60L),
+    SECONDS("seconds", "s", 1L);
+
+    private static final DurationUnit[] UNITS = values();
+
+    private final String placeholder;
+    private final String abbreviation;
+    private final long seconds;
+
+    DurationUnit(String placeholder, String abbreviation, long seconds) {
+        this.placeholder = placeholder;
+        this.abbreviation = abbreviation;
+        this.seconds = seconds;
+    }
+
+    /**
+     * Get the short unit used in compact lore.
+     *
+     * @return The short unit.
+     */
+    public String abbreviation() {
+        return abbreviation;
+    }
+
+    /**
+     * Get how many of this unit are left in a duration once the larger units are taken out.
+     *
+     * @param time The duration in ms.
+     * @return The amount of this unit.
+     */
+    public long amount(long time) {
+        long remaining = time / 1000;
+        for (int i = 0; i < ordinal(); i++) {
+            remaining %= UNITS[i].seconds;
+        }
+        return remaining / seconds;
+    }
+
+    /**
+     * Check if this unit is shown for a duration. Units that are zero are left out,
+     * except seconds when every other unit is zero.
+     *
+     * @param time The duration in ms.
+     * @return If the unit is shown.
+     */
+    public boolean shown(long time) {
+        return amount(time) > 0 || (this == SECONDS && time / 1000 < MINUTES.seconds);
+    }
+
+    /**
+     * Find the unit for a placeholder name.
+     *
+     * @param placeholder The placeholder name, without the braces.
+     * @return The unit, or null if it isn't a duration placeholder.
+     */
+    public static DurationUnit fromPlaceholder(String placeholder) {
+        for (DurationUnit unit : UNITS) {
+            if (unit.placeholder.equals(placeholder)) {
+                return unit;
+            }
+        }
+        return null;
+    }
+}
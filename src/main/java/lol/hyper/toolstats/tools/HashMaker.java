@@ -18,43 +18,170 @@
 package lol.hyper.toolstats.tools;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.config.Settings;
 import org.bukkit.Material;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 public class HashMaker {
 
+    /**
+     * SHA-256 of the item type name, owner and time as one string. Items with no
+     * scheme stored next to their hash use this.
+     */
+    public static final int SCHEME_LEGACY = 0;
+    /**
+     * SHA-256 of the item type name, owner and time as raw bytes.
+     */
+    public static final int SCHEME_SHA256 = 1;
+    /**
+     * A fast 128-bit hash of the same input. Not cryptographic.
+     */
+    public static final int SCHEME_FAST = 2;
+    /**
+     * A random UUID, used when no hash could be made. It can't be checked against the item.
+     */
+    public static final int SCHEME_RANDOM = 3;
+
+    private static final HexFormat HEX = HexFormat.of();
+
     private final ToolStats toolStats;
+    // the type name as bytes, indexed by ordinal and filled in as types are hashed
+    private final byte[][] typeNames = new byte[Material.values().length][];
+    // MessageDigest is not thread safe, so every thread gets its own
+    private final ThreadLocal<Sha256> sha256 = ThreadLocal.withInitial(Sha256::create);
 
     public HashMaker(ToolStats toolStats) {
         this.toolStats = toolStats;
     }
 
-    public String makeHash(Material itemType, UUID player, long timestamp) {
-        String input = itemType.toString() + player.toString() + timestamp;
+    /**
+     * Make a hash for an item with the scheme set in the config.
+     *
+     * @param itemType  The item type.
+     * @param player    The owner of the item.
+     * @param timestamp When the item was created.
+     * @return The hash and the scheme that made it.
+     */
+    public ItemHash makeHash(Material itemType, UUID player, long timestamp) {
+        Settings settings = toolStats.settings;
+        if (settings.fastHash()) {
+            return new ItemHash(fastHash(itemType, player, timestamp), SCHEME_FAST);
+        }
+
+        Sha256 digest = sha256.get();
+        if (digest == null) {
+            toolStats.logger.warn("Unable to generate hash for {}!", player);
+            toolStats.logger.warn("Generating a random UUID instead.");
+            return new ItemHash(UUID.randomUUID().toString(), SCHEME_RANDOM);
+        }
+        return new ItemHash(HEX.formatHex(digest.hash(typeName(itemType), player, timestamp)), SCHEME_SHA256);
+    }
+
+    /**
+     * Make a hash for an item and store it, along with the scheme that made it.
+     *
+     * @param container The item's PDC.
+     * @param itemType  The item type.
+     * @param player    The owner of the item.
+     * @param timestamp When the item was created.
+     */
+    public void writeHash(PersistentDataContainer container, Material itemType, UUID player, long timestamp) {
+        ItemHash itemHash = makeHash(itemType, player, timestamp);
+        container.set(toolStats.hash, PersistentDataType.STRING, itemHash.hash());
+        container.set(toolStats.hashScheme, PersistentDataType.INTEGER, itemHash.scheme());
+    }
+
+    /**
+     * Remove an item's hash and the scheme that made it.
+     *
+     * @param container The item's PDC.
+     */
+    public void removeHash(PersistentDataContainer container) {
+        container.remove(toolStats.hash);
+        container.remove(toolStats.hashScheme);
+    }
+
+    private byte[] typeName(Material itemType) {
+        byte[] name = typeNames[itemType.ordinal()];
+        if (name == null) {
+            name = itemType.name().getBytes(StandardCharsets.UTF_8);
+            typeNames[itemType.ordinal()] = name;
+        }
+        return name;
+    }
 
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = md.digest(input.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Two 64-bit lanes of a murmur3 style mix over the same input.
+     */
+    private String fastHash(Material itemType, UUID player, long timestamp) {
+        long type = itemType.name().hashCode();
+        long h1 = mix(type ^ 0x9E3779B97F4A7C15L);
+        long h2 = mix(type ^ 0xC2B2AE3D27D4EB4FL);
 
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+        h1 = mix(h1 ^ player.getMostSignificantBits());
+        h2 = mix(h2 + player.getMostSignificantBits() * 0x9E3779B97F4A7C15L);
+        h1 = mix(h1 ^ player.getLeastSignificantBits());
+        h2 = mix(h2 + player.getLeastSignificantBits() * 0x9E3779B97F4A7C15L);
+        h1 = mix(h1 ^ timestamp);
+        h2 = mix(h2 + timestamp * 0x9E3779B97F4A7C15L);
+
+        h1 += h2;
+        h2 += h1;
+        return HEX.toHexDigits(h1) + HEX.toHexDigits(h2);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * A hash and the scheme that made it.
+     *
+     * @param hash   The hash.
+     * @param scheme One of the SCHEME constants.
+     */
+    public record ItemHash(String hash, int scheme) {
+    }
+
+    /**
+     * A SHA-256 digest and the buffer used to feed it, reused by one thread.
+     */
+    private static final class Sha256 {
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 3);
+
+        private Sha256(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        private static Sha256 create() {
+            try {
+                return new Sha256(MessageDigest.getInstance("SHA-256"));
+            } catch (NoSuchAlgorithmException exception) {
+                return null;
             }
+        }
 
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException exception) {
-            toolStats.logger.error("Unable to generate hash", exception);
-            toolStats.logger.warn("Unable to generate hash for {}!", player);
-            toolStats.logger.warn("Generating a random UUID instead.");
-            return java.util.UUID.randomUUID().toString();
+        private byte[] hash(byte[] typeName, UUID player, long timestamp) {
+            buffer.clear();
+            buffer.putLong(player.getMostSignificantBits());
+            buffer.putLong(player.getLeastSignificantBits());
+            buffer.putLong(timestamp);
+            buffer.flip();
+
+            digest.update(typeName);
+            digest.update(buffer);
+            return digest.digest();
         }
     }
 }
@@ -18,9 +18,13 @@
 package lol.hyper.toolstats.tools;
 
 import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.config.ItemCategory;
+import lol.hyper.toolstats.tools.config.Settings;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -32,10 +36,15 @@ import java.util.*;
 
 public class ItemChecker {
 
-    private final List<Material> validItems = new ArrayList<>();
-    private final List<Material> armorItems = new ArrayList<>();
-    private final List<Material> meleeItems = new ArrayList<>();
-    private final List<Material> mineItems = new ArrayList<>();
+    /**
+     * The equipment slots armor is worn in.
+     */
+    public static final List<EquipmentSlot> ARMOR_SLOTS = List.of(EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET);
+
+    private final Set<Material> validItems = EnumSet.noneOf(Material.class);
+    private final Set<Material> armorItems = EnumSet.noneOf(Material.class);
+    private final Set<Material> meleeItems = EnumSet.noneOf(Material.class);
+    private final Set<Material> mineItems = EnumSet.noneOf(Material.class);
     private final ToolStats toolStats;
 
     public ItemChecker(ToolStats toolStats) {
@@ -43,40 +52,66 @@ public class ItemChecker {
     }
 
     /**
-     * Set up the item checker.
+     * Set up the item checker. Settings must be loaded first.
      */
     public void setup() {
+        Settings settings = toolStats.settings;
         for (Material material : Material.values()) {
-            String lowerCase = material.toString().toLowerCase(Locale.ROOT);
-            if (lowerCase.contains("_pickaxe") || lowerCase.contains("_axe") || lowerCase.contains("_hoe") || lowerCase.contains("_shovel")) {
-                mineItems.add(material);
+            ItemCategory category = settings.getCategory(material);
+            if (category == null) {
+                continue;
             }
-
-            if (lowerCase.contains("_sword") || lowerCase.contains("_axe")) {
-                meleeItems.add(material);
-            }
-
-            if (lowerCase.contains("_helmet") || lowerCase.contains("_chestplate") || lowerCase.contains("_leggings") || lowerCase.contains("_boots")) {
-                armorItems.add(material);
+            switch (category) {
+                case PICKAXE, SHOVEL, HOE, SHEARS -> mineItems.add(material);
+                case AXE -> {
+                    mineItems.add(material);
+                    meleeItems.add(material);
+                }
+                case SWORD, TRIDENT, MACE -> meleeItems.add(material);
+                case ARMOR -> armorItems.add(material);
+                case BOW, FISHING_ROD -> validItems.add(material);
             }
         }
 
         // hardcode these
-        mineItems.add(Material.SHEARS);
-        meleeItems.add(Material.TRIDENT);
-        meleeItems.add(Material.MACE);
-
-        validItems.add(Material.BOW);
-        validItems.add(Material.CROSSBOW);
-        validItems.add(Material.FISHING_ROD);
         validItems.add(Material.ELYTRA);
 
-        // combine the lists
+        // combine the sets
         validItems.addAll(armorItems);
         validItems.addAll(meleeItems);
         validItems.addAll(mineItems);
     }
 
+    /**
+     * Get the category an item type is in.
+     *
+     * @param itemType The item type, not name.
+     * @return The category, or null if the item has none.
+     */
+    public @Nullable ItemCategory getCategory(Material itemType) {
+        return toolStats.settings.getCategory(itemType);
+    }
+
+    /**
+     * Check if item is a hoe.
+     *
+     * @param itemType The item type, not name.
+     * @return If the item is a hoe.
+     */
+    public boolean isHoe(Material itemType) {
+        return getCategory(itemType) == ItemCategory.HOE;
+    }
+
+    /**
+     * Check if item is an axe.
+     *
+     * @param itemType The item type, not name.
+     * @return If the item is an axe.
+     */
+    public boolean isAxe(Material itemType) {
+        return getCategory(itemType) == ItemCategory.AXE;
+    }
+
     /**
      * Check if item is an armor piece.
      *
@@ -140,45 +175,78 @@ public class ItemChecker {
      * @param targetToken The target to look for.
      * @return True if the item has a given token, false if not.
      */
-    public boolean checkTokens(PersistentDataContainer container, String targetToken) {
-        // make sure the item has tokens
-        if (!container.has(toolStats.tokenApplied, PersistentDataType.STRING)) {
-            return false;
-        }
+    public boolean checkTokens(PersistentDataContainerView container, String targetToken) {
+        StatDefinition stat = toolStats.statRegistry.getByToken(targetToken);
+        return stat != null && (getTokens(container) & stat.tokenBit()) != 0;
+    }
 
-        // get the tokens for this item
-        String tokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-        if (tokens == null) {
-            return false;
+    /**
+     * Get the tokens applied to an item, one bit per stat id.
+     * Tokens from older versions are read but left as they are.
+     *
+     * @param container The PDC of the item.
+     * @return The token mask, 0 if there are none.
+     */
+    public int getTokens(PersistentDataContainerView container) {
+        Integer mask = container.get(toolStats.tokenMask, PersistentDataType.INTEGER);
+        if (mask != null) {
+            return mask;
         }
-
-        return tokens.contains(targetToken);
+        String legacy = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
+        return legacy == null ? 0 : parseTokens(legacy);
     }
 
     /**
-     * Get the tokens for a given item.
+     * Get the tokens applied to an item, one bit per stat id.
+     * Tokens from older versions are moved into the mask.
      *
-     * @param item The item.
-     * @return An array of the tokens, empty if there are none.
+     * @param container The PDC of the item.
+     * @return The token mask, 0 if there are none.
      */
-    private String[] getTokens(ItemStack item) {
-        // make sure the item has tokens
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return new String[0];
+    public int readTokens(PersistentDataContainer container) {
+        Integer mask = container.get(toolStats.tokenMask, PersistentDataType.INTEGER);
+        if (mask != null) {
+            return mask;
         }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        if (!container.has(toolStats.tokenApplied, PersistentDataType.STRING)) {
-            return new String[0];
+        String legacy = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
+        if (legacy == null) {
+            return 0;
         }
+        int parsed = parseTokens(legacy);
+        setTokens(container, parsed);
+        return parsed;
+    }
 
-        // get the tokens for this item
-        String tokensRaw = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-        if (tokensRaw == null) {
-            return new String[0];
+    /**
+     * Set the tokens applied to an item.
+     *
+     * @param container The PDC of the item.
+     * @param mask      The token mask. If 0, the tokens are removed.
+     */
+    public void setTokens(PersistentDataContainer container, int mask) {
+        container.remove(toolStats.tokenApplied);
+        if (mask == 0) {
+            container.remove(toolStats.tokenMask);
+        } else {
+            container.set(toolStats.tokenMask, PersistentDataType.INTEGER, mask);
         }
+    }
 
-        return tokensRaw.split(",");
+    /**
+     * Parse the comma separated tokens from older versions.
+     *
+     * @param tokens The tokens.
+     * @return The token mask.
+     */
+    private int parseTokens(String tokens) {
+        int mask = 0;
+        for (String token : tokens.split(",")) {
+            StatDefinition stat = toolStats.statRegistry.getByToken(token);
+            if (stat != null) {
+                mask |= stat.tokenBit();
+            }
+        }
+        return mask;
     }
 
     /**
@@ -189,21 +257,13 @@ public class ItemChecker {
      * @return The new PDC with the new token. Null if something went wrong.
      */
     public ItemStack addToken(ItemStack item, String token) {
+        StatDefinition stat = toolStats.statRegistry.getByToken(token);
         ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
+        if (meta == null || stat == null) {
             return null;
         }
         PersistentDataContainer container = meta.getPersistentDataContainer();
-        String[] tokens = getTokens(item);
-        // there are no tokens
-        if (tokens.length == 0) {
-            container.set(toolStats.tokenApplied, PersistentDataType.STRING, token);
-        } else {
-            // other tokens exist, so add
-            String[] newTokens = Arrays.copyOf(tokens, tokens.length + 1);
-            newTokens[tokens.length] = token;
-            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-        }
+        setTokens(container, readTokens(container) | stat.tokenBit());
         item.setItemMeta(meta);
         return item;
     }
@@ -215,7 +275,7 @@ public class ItemChecker {
      * @return The amount of levels to use.
      */
     public int getCost(String tokenType) {
-        return toolStats.config.getInt("tokens.data." + tokenType + ".levels");
+        return toolStats.settings.tokenCost(tokenType);
     }
 
     /**
@@ -306,75 +366,30 @@ public class ItemChecker {
     }
 
     /**
-     * Checks the keys of the item and returns the tokens we should add.
+     * Checks the stats on an item and returns the tokens we should add.
      * If the server swaps token systems this should allow compatability.
      *
-     * @param item The input item.
-     * @return The tokens we should add.
+     * @param stats The item's stats.
+     * @return The token mask for every stat the item has.
      */
-    public String addTokensToExisting(ItemStack item) {
-        ItemStack clone = item.clone();
-        ItemMeta meta = clone.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        ArrayList<String> tokens = new ArrayList<>();
-        if (container.has(toolStats.playerKills)) {
-            tokens.add("player-kills");
-        }
-        if (container.has(toolStats.mobKills)) {
-            tokens.add("mob-kills");
-        }
-        if (container.has(toolStats.blocksMined)) {
-            tokens.add("blocks-mined");
-        }
-        if (container.has(toolStats.cropsHarvested)) {
-            tokens.add("crops-mined");
-        }
-        if (container.has(toolStats.fishCaught)) {
-            tokens.add("fish-caught");
-        }
-        if (container.has(toolStats.sheepSheared)) {
-            tokens.add("sheep-sheared");
-        }
-        if (container.has(toolStats.armorDamage)) {
-            tokens.add("damage-taken");
-        }
-        if (container.has(toolStats.arrowsShot)) {
-            tokens.add("arrows-shot");
-        }
-        if (container.has(toolStats.flightTime)) {
-            tokens.add("flight-time");
-        }
-        if (container.has(toolStats.damageDone)) {
-            tokens.add("damage-done");
-        }
-        if (tokens.isEmpty()) {
-            return null;
+    public int tokensForStats(StatValues stats) {
+        int mask = 0;
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            if (stats.has(stat)) {
+                mask |= stat.tokenBit();
+            }
         }
-
-        return String.join(",", tokens);
+        return mask;
     }
 
-
     /**
-     * Remove a given token from a list of tokens.
+     * Remove a stat's token from an item.
      *
-     * @param appliedTokens The tokens on the item.
-     * @param toRemove      The token to remove.
-     * @return The list of tokens.
+     * @param container The PDC of the item.
+     * @param stat      The stat to remove the token for.
      */
-    public List<String> removeToken(String appliedTokens, String toRemove) {
-        // remove the tokens if they exist
-        List<String> tokenList = new ArrayList<>(Arrays.asList(appliedTokens.split(",")));
-        tokenList.remove(toRemove);
-
-        if (tokenList.isEmpty()) {
-            return Collections.emptyList();
-        } else {
-            return tokenList;
-        }
+    public void removeToken(PersistentDataContainer container, StatDefinition stat) {
+        setTokens(container, readTokens(container) & ~stat.tokenBit());
     }
 
     /**
@@ -383,9 +398,12 @@ public class ItemChecker {
      * @param container The container.
      * @return True/false if the container has keys.
      */
-    public boolean keyCheck(PersistentDataContainer container) {
-        return container.getKeys().stream()
-                .map(NamespacedKey::getKey)
-                .anyMatch(key -> toolStats.tokenKeys.stream().anyMatch(tokenKey -> tokenKey.getKey().equalsIgnoreCase(key)));
+    public boolean keyCheck(PersistentDataContainerView container) {
+        for (NamespacedKey key : toolStats.tokenKeys) {
+            if (container.has(key)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -17,13 +17,15 @@
 
 package lol.hyper.toolstats.tools;
 
+import io.papermc.paper.datacomponent.DataComponentTypes;
 import lol.hyper.hyperlib.datatypes.UUIDDataType;
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.config.CompactLine;
+import lol.hyper.toolstats.tools.config.LoreTemplate;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -31,19 +33,23 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class ItemLore {
 
     private final ToolStats toolStats;
+    // the last creation date line made for each origin
+    private final AtomicReferenceArray<CreationLine> creationLines = new AtomicReferenceArray<>(7);
     private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
-    private final Map<Component, String> plainTextCache = Collections.synchronizedMap(new WeakHashMap<>());
 
     public ItemLore(ToolStats toolStats) {
         this.toolStats = toolStats;
     }
 
     private String toPlain(Component component) {
-        return plainTextCache.computeIfAbsent(component, PLAIN::serialize);
+        return PLAIN.serialize(component);
     }
 
     /**
@@ -96,1080 +102,796 @@ public class ItemLore {
         return newLore;
     }
 
-    private List<Component> updateItemLoreIndexed(ItemMeta itemMeta, PersistentDataContainer container, NamespacedKey indexKey, Component oldLine, Component newLine) {
-        List<Component> itemLore = itemMeta.hasLore() ? itemMeta.lore() : new ArrayList<>();
-        if (itemLore == null) {
-            itemLore = new ArrayList<>();
-        }
-
-        String oldPlain = toPlain(oldLine);
-        Integer cachedIndex = container.get(indexKey, PersistentDataType.INTEGER);
-        if (cachedIndex != null) {
-            int index = cachedIndex;
-            if (index >= 0 && index < itemLore.size()) {
-                if (oldPlain.equals(toPlain(itemLore.get(index)))) {
-                    itemLore.set(index, newLine);
-                    return itemLore;
-                }
-            }
+    /**
+     * Replace a stat's line in the lore, or add it if it can't be found.
+     *
+     * @param edit      The item's lore.
+     * @param stat      The stat.
+     * @param isOldLine Finds the stat's current line.
+     * @param newLine   The new line.
+     */
+    private void updateItemLoreIndexed(LoreEdit edit, StatDefinition stat, Predicate<Component> isOldLine, Component newLine) {
+        List<Component> itemLore = edit.lore();
+        LoreLayout layout = edit.layout();
+        int index = layout.get(stat);
+        if (index >= 0 && index < itemLore.size() && isOldLine.test(itemLore.get(index))) {
+            itemLore.set(index, newLine);
+            return;
         }
 
         for (int x = 0; x < itemLore.size(); x++) {
-            if (oldPlain.equals(toPlain(itemLore.get(x)))) {
+            if (isOldLine.test(itemLore.get(x))) {
                 itemLore.set(x, newLine);
-                container.set(indexKey, PersistentDataType.INTEGER, x);
-                return itemLore;
+                layout.set(stat, x);
+                return;
             }
         }
 
         itemLore.add(newLine);
-        container.set(indexKey, PersistentDataType.INTEGER, itemLore.size() - 1);
-        return itemLore;
+        layout.set(stat, itemLore.size() - 1);
     }
 
-    private List<Component> removeLoreIndexed(ItemMeta itemMeta, PersistentDataContainer container, NamespacedKey indexKey, Component toRemove) {
-        List<Component> currentLore = itemMeta.hasLore() ? itemMeta.lore() : null;
-        if (currentLore == null || currentLore.isEmpty()) {
-            container.remove(indexKey);
-            return Collections.emptyList();
-        }
-
-        String targetPlain = toPlain(toRemove);
-        Integer cachedIndex = container.get(indexKey, PersistentDataType.INTEGER);
-        if (cachedIndex != null) {
-            int index = cachedIndex;
-            if (index >= 0 && index < currentLore.size()) {
-                if (targetPlain.equals(toPlain(currentLore.get(index)))) {
-                    List<Component> newLore = new ArrayList<>(currentLore);
-                    newLore.remove(index);
-                    container.remove(indexKey);
-                    return newLore;
-                }
-            }
-        }
-
-        List<Component> newLore = new ArrayList<>(currentLore);
-        newLore.removeIf(line -> targetPlain.equals(toPlain(line)));
-        container.remove(indexKey);
-        return newLore;
+    /**
+     * Remove a stat's line from the lore.
+     *
+     * @param edit     The item's lore.
+     * @param stat     The stat.
+     * @param isTarget Finds the stat's line.
+     */
+    private void removeLoreIndexed(LoreEdit edit, StatDefinition stat, Predicate<Component> isTarget) {
+        List<Component> itemLore = edit.lore();
+        LoreLayout layout = edit.layout();
+        int index = layout.get(stat);
+        layout.clear(stat);
+        if (index >= 0 && index < itemLore.size() && isTarget.test(itemLore.get(index))) {
+            itemLore.remove(index);
+            layout.lineRemoved(index);
+            return;
+        }
+
+        removeLines(edit, isTarget);
     }
 
     /**
-     * Add x to the crops mined stat.
+     * Remove every line that matches, keeping the layout in sync.
      *
-     * @param playerTool The tool to update.
+     * @param edit     The item's lore.
+     * @param isTarget Finds the lines to remove.
      */
-    public ItemMeta updateCropsMined(ItemStack playerTool, int add) {
-        ItemMeta meta = playerTool.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", playerTool);
-            return null;
-        }
-        // read the current stats from the item
-        // if they don't exist, then start from 0
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.config.getBoolean("enabled.crops-harvested")) {
-            if (container.has(toolStats.cropsHarvested)) {
-                Integer cropsMined = container.get(toolStats.cropsHarvested, PersistentDataType.INTEGER);
-                if (cropsMined == null) {
-                    return null;
-                }
-                container.remove(toolStats.cropsHarvested);
-                container.remove(toolStats.loreIndexCropsMined);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "crops-mined");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldCropsMinedFormatted = toolStats.numberFormat.formatInt(cropsMined);
-                    Component lineToRemove = toolStats.configTools.formatLore("crops-harvested", "{crops}", oldCropsMinedFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexCropsMined, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
+    private void removeLines(LoreEdit edit, Predicate<Component> isTarget) {
+        List<Component> itemLore = edit.lore();
+        for (int x = itemLore.size() - 1; x >= 0; x--) {
+            if (isTarget.test(itemLore.get(x))) {
+                itemLore.remove(x);
+                edit.layout().lineRemoved(x);
             }
-            return null;
         }
+    }
 
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "crops-mined");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.cropsHarvested) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerTool);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
-            }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerTool);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
+    /**
+     * Build a check that finds a stat's line in the lore. If the stat's message
+     * has a signature, the line is found by the text around the value. Otherwise,
+     * the line has to match the text it had exactly.
+     *
+     * @param stat      The stat.
+     * @param shownText Gets the exact text of the line, only used if there is no signature.
+     * @return The check.
+     */
+    private Predicate<Component> lineMatcher(StatDefinition stat, Supplier<String> shownText) {
+        LoreTemplate template = toolStats.configTools.getTemplate(stat.messageKey());
+        if (template != null && template.hasSignature()) {
+            return template::matches;
         }
+        String plain = shownText.get();
+        return line -> plain.equals(toPlain(line));
+    }
 
-        Integer cropsMined = 0;
-        if (container.has(toolStats.cropsHarvested, PersistentDataType.INTEGER)) {
-            cropsMined = container.get(toolStats.cropsHarvested, PersistentDataType.INTEGER);
-        }
+    /**
+     * Add x to an integer stat.
+     *
+     * @param item The item to update.
+     * @param stat The stat to update.
+     * @param add  The amount to add.
+     * @return The updated meta, or null if nothing changed.
+     */
+    public ItemMeta updateStat(ItemStack item, StatDefinition stat, int add) {
+        return applyDeltas(item, StatDelta.of(stat, add));
+    }
 
-        if (cropsMined == null) {
-            cropsMined = 0;
-            toolStats.logger.warn("{} does not have valid crops-mined set! Resting to zero. This should NEVER happen.", playerTool);
-        }
+    /**
+     * Add x to a time stat. Values are in milliseconds.
+     *
+     * @param item The item to update.
+     * @param stat The stat to update.
+     * @param add  The amount to add.
+     * @return The updated meta, or null if nothing changed.
+     */
+    public ItemMeta updateStat(ItemStack item, StatDefinition stat, long add) {
+        return applyDeltas(item, StatDelta.of(stat, add));
+    }
 
-        container.set(toolStats.cropsHarvested, PersistentDataType.INTEGER, cropsMined + add);
-        String oldCropsMinedFormatted = toolStats.numberFormat.formatInt(cropsMined);
-        String newCropsMinedFormatted = toolStats.numberFormat.formatInt(cropsMined + add);
-        Component oldLine = toolStats.configTools.formatLore("crops-harvested", "{crops}", oldCropsMinedFormatted);
-        Component newLine = toolStats.configTools.formatLore("crops-harvested", "{crops}", newCropsMinedFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexCropsMined, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+    /**
+     * Add x to a decimal stat.
+     *
+     * @param item The item to update.
+     * @param stat The stat to update.
+     * @param add  The amount to add.
+     * @return The updated meta, or null if nothing changed.
+     */
+    public ItemMeta updateStat(ItemStack item, StatDefinition stat, double add) {
+        return applyDeltas(item, StatDelta.of(stat, add));
     }
 
     /**
-     * Add x to the blocks mined stat.
+     * Apply several stat changes to an item at once. The meta and lore are
+     * read once, every change is applied, then the lore is set once.
      *
-     * @param playerTool The tool to update.
+     * @param item   The item to update.
+     * @param deltas The changes to apply.
+     * @return The updated meta, or null if nothing changed.
      */
-    public ItemMeta updateBlocksMined(ItemStack playerTool, int add) {
-        ItemMeta meta = playerTool.getItemMeta();
+    public ItemMeta applyDeltas(ItemStack item, StatDelta... deltas) {
+        ItemMeta meta = item.getItemMeta();
         if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", playerTool);
+            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", item);
             return null;
         }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.configTools.checkConfig(playerTool.getType(), "blocks-mined")) {
-            if (container.has(toolStats.blocksMined)) {
-                Integer blocksMined = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
-                if (blocksMined == null) {
-                    return null;
-                }
-                container.remove(toolStats.blocksMined);
-                container.remove(toolStats.loreIndexBlocksMined);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "blocks-mined");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldBlocksMinedFormatted = toolStats.numberFormat.formatInt(blocksMined);
-                    Component lineToRemove = toolStats.configTools.formatLore("blocks-mined", "{blocks}", oldBlocksMinedFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexBlocksMined, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
+        LoreEdit edit = new LoreEdit(item.getType(), meta.getPersistentDataContainer(), () -> meta.hasLore() ? meta.lore() : new ArrayList<>());
+        if (!applyAll(item, edit, deltas)) {
             return null;
         }
-
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "blocks-mined");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.blocksMined) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerTool);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
-            }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerTool);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-        }
-
-        // read the current stats from the item
-        // if they don't exist, then start from 0
-        Integer blocksMined = 0;
-        if (container.has(toolStats.blocksMined, PersistentDataType.INTEGER)) {
-            blocksMined = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
+        if (edit.lore != null) {
+            meta.lore(edit.lore);
         }
-
-        if (blocksMined == null) {
-            blocksMined = 0;
-            toolStats.logger.warn("{} does not have valid generic-mined set! Resting to zero. This should NEVER happen.", playerTool);
-        }
-
-        container.set(toolStats.blocksMined, PersistentDataType.INTEGER, blocksMined + add);
-        String oldBlocksMinedFormatted = toolStats.numberFormat.formatInt(blocksMined);
-        String newBlocksMinedFormatted = toolStats.numberFormat.formatInt(blocksMined + add);
-        Component oldLine = toolStats.configTools.formatLore("blocks-mined", "{blocks}", oldBlocksMinedFormatted);
-        Component newLine = toolStats.configTools.formatLore("blocks-mined", "{blocks}", newBlocksMinedFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexBlocksMined, oldLine, newLine);
-        meta.lore(newLore);
         return meta;
     }
 
     /**
-     * Add +1 to the player kills stat.
+     * Apply several stat changes directly to an item. The item's data is edited
+     * in place and the lore is written as a data component, without going
+     * through getItemMeta and setItemMeta.
      *
-     * @param playerWeapon The tool to update.
+     * @param item   The item to update.
+     * @param deltas The changes to apply.
+     * @return If anything changed.
      */
-    public ItemMeta updatePlayerKills(ItemStack playerWeapon, int add) {
-        ItemMeta meta = playerWeapon.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", playerWeapon);
-            return null;
-        }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
+    public boolean applyDeltasInPlace(ItemStack item, StatDelta... deltas) {
+        return applyDeltasInPlace(item, false, deltas);
+    }
 
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.configTools.checkConfig(playerWeapon.getType(), "player-kills")) {
-            if (container.has(toolStats.playerKills)) {
-                Integer playerKills = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
-                if (playerKills == null) {
-                    return null;
-                }
-                container.remove(toolStats.playerKills);
-                container.remove(toolStats.loreIndexPlayerKills);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "player-kills");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldPlayerKillsFormatted = toolStats.numberFormat.formatInt(playerKills);
-                    Component lineToRemove = toolStats.configTools.formatLore("player-kills", "{kills}", oldPlayerKillsFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexPlayerKills, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
+    /**
+     * Apply several stat changes directly to an item, optionally holding back
+     * the lore. Held back lines are only those that can be found again by
+     * their message's signature, {@link #refreshLoreInPlace(ItemStack)} redraws them later.
+     *
+     * @param item      The item to update.
+     * @param deferLore If lines that can be found later should be left as they are.
+     * @param deltas    The changes to apply.
+     * @return If anything changed.
+     */
+    public boolean applyDeltasInPlace(ItemStack item, boolean deferLore, StatDelta... deltas) {
+        if (item == null || item.isEmpty()) {
+            return false;
         }
 
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "player-kills");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.playerKills) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerWeapon);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+        LoreEdit[] applied = new LoreEdit[1];
+        item.editPersistentDataContainer(container -> {
+            LoreEdit edit = new LoreEdit(item.getType(), container, () -> componentLore(item));
+            edit.deferLore = deferLore;
+            if (applyAll(item, edit, deltas)) {
+                applied[0] = edit;
             }
+        });
+        if (applied[0] == null) {
+            return false;
+        }
+        writeComponentLore(item, applied[0]);
+        return true;
+    }
 
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
-            }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerWeapon);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+    /**
+     * Run every change against an item's data.
+     *
+     * @param item   The item being updated.
+     * @param edit   The item's data and lore.
+     * @param deltas The changes to apply.
+     * @return If anything changed.
+     */
+    private boolean applyAll(ItemStack item, LoreEdit edit, StatDelta[] deltas) {
+        PersistentDataContainer container = edit.container;
+        boolean changed = false;
+        for (StatDelta delta : deltas) {
+            StatCheck check = checkStat(item, container, edit.stats(), delta.stat());
+            if (check == StatCheck.SKIP) {
+                continue;
+            }
+            if (check == StatCheck.STRIP) {
+                changed |= stripStat(container, edit, delta.stat());
+            } else {
+                changed |= applyDelta(edit, delta);
             }
         }
 
-        Integer playerKills = 0;
-        if (container.has(toolStats.playerKills, PersistentDataType.INTEGER)) {
-            playerKills = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
+        if (!changed) {
+            return false;
         }
-
-        if (playerKills == null) {
-            playerKills = 0;
-            toolStats.logger.warn("{} does not have valid player-kills set! Resting to zero. This should NEVER happen.", playerWeapon);
+        if (edit.compactShown != null) {
+            renderCompactLines(edit);
         }
+        edit.apply();
+        return true;
+    }
 
-        container.set(toolStats.playerKills, PersistentDataType.INTEGER, playerKills + add);
-        String oldPlayerKillsFormatted = toolStats.numberFormat.formatInt(playerKills);
-        String newPlayerKillsFormatted = toolStats.numberFormat.formatInt(playerKills + add);
-        Component oldLine = toolStats.configTools.formatLore("kills.player", "{kills}", oldPlayerKillsFormatted);
-        Component newLine = toolStats.configTools.formatLore("kills.player", "{kills}", newPlayerKillsFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexPlayerKills, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+    /**
+     * Copy an item's lore from its data component.
+     *
+     * @param item The item.
+     * @return The lore, which can be changed.
+     */
+    private List<Component> componentLore(ItemStack item) {
+        io.papermc.paper.datacomponent.item.ItemLore lore = item.getData(DataComponentTypes.LORE);
+        return lore == null ? new ArrayList<>() : new ArrayList<>(lore.lines());
     }
 
     /**
-     * Add x to the mob kills stat.
+     * Write an edit's lore to the item's data component, only if it was touched.
      *
-     * @param playerWeapon The tool to update.
+     * @param item The item.
+     * @param edit The finished edit.
      */
-    public ItemMeta updateMobKills(ItemStack playerWeapon, int add) {
-        ItemMeta meta = playerWeapon.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", playerWeapon);
-            return null;
+    private void writeComponentLore(ItemStack item, LoreEdit edit) {
+        if (edit.lore != null) {
+            item.setData(DataComponentTypes.LORE, io.papermc.paper.datacomponent.item.ItemLore.lore(edit.lore));
         }
+    }
 
-        PersistentDataContainer container = meta.getPersistentDataContainer();
+    /**
+     * A rendered creation date line and the day it was made for.
+     */
+    private record CreationLine(long day, Component line) {
+    }
 
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.configTools.checkConfig(playerWeapon.getType(), "mob-kills")) {
-            if (container.has(toolStats.mobKills)) {
-                Integer mobKills = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
-                if (mobKills == null) {
-                    return null;
-                }
-                container.remove(toolStats.mobKills);
-                container.remove(toolStats.loreIndexMobKills);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "mob-kills");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldMobKillsFormatted = toolStats.numberFormat.formatInt(mobKills);
-                    Component lineToRemove = toolStats.configTools.formatLore("mob-kills", "{kills}", oldMobKillsFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexMobKills, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
+    /**
+     * Copies the item's lore, layout, and stats the first time they are needed.
+     * The lore is left for the caller to write, since it lives in the meta or
+     * in a data component depending on how the item is being updated.
+     */
+    private final class LoreEdit {
+        private final Material type;
+        private final PersistentDataContainer container;
+        private final Supplier<List<Component>> currentLore;
+        private List<Component> lore;
+        private LoreLayout layout;
+        private StatValues stats;
+        // compact lines touched by this edit, and what they showed before
+        private Map<CompactLine, String[]> compactShown;
+        // leave lines that can be found by their signature for a later refresh
+        private boolean deferLore;
+
+        private LoreEdit(Material type, PersistentDataContainer container, Supplier<List<Component>> currentLore) {
+            this.type = type;
+            this.container = container;
+            this.currentLore = currentLore;
         }
 
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "mob-kills");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.mobKills) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerWeapon);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+        private List<Component> lore() {
+            if (lore == null) {
+                lore = currentLore.get();
             }
+            return lore;
+        }
 
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
-            }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(playerWeapon);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+        private LoreLayout layout() {
+            if (layout == null) {
+                layout = LoreLayout.read(toolStats, container);
             }
+            return layout;
         }
 
-        Integer mobKills = 0;
-        if (container.has(toolStats.mobKills, PersistentDataType.INTEGER)) {
-            mobKills = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
+        private StatValues stats() {
+            if (stats == null) {
+                stats = toolStats.statStore.read(container);
+            }
+            return stats;
         }
 
-        if (mobKills == null) {
-            mobKills = 0;
-            toolStats.logger.warn("{} does not have valid mob-kills set! Resting to zero. This should NEVER happen.", playerWeapon);
+        /**
+         * Write the layout and stats back to the container, only if they were touched.
+         */
+        private void apply() {
+            if (stats != null) {
+                toolStats.statStore.write(container, stats);
+            }
+            if (layout != null) {
+                layout.write(toolStats, container);
+            }
         }
+    }
 
-        container.set(toolStats.mobKills, PersistentDataType.INTEGER, mobKills + add);
-        String oldMobKillsFormatted = toolStats.numberFormat.formatInt(mobKills);
-        String newMobKillsFormatted = toolStats.numberFormat.formatInt(mobKills + add);
-        Component oldLine = toolStats.configTools.formatLore("kills.mob", "{kills}", oldMobKillsFormatted);
-        Component newLine = toolStats.configTools.formatLore("kills.mob", "{kills}", newMobKillsFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexMobKills, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+    /**
+     * Result of checking if a stat can be updated on an item.
+     */
+    private enum StatCheck {
+        /**
+         * The stat should be updated.
+         */
+        PROCEED,
+        /**
+         * Nothing should change on the item.
+         */
+        SKIP,
+        /**
+         * The stat is disabled and should be removed from the item.
+         */
+        STRIP
     }
 
     /**
-     * Add damage to an armor piece.
+     * Check if the stat is enabled and the item can track it.
      *
-     * @param armorPiece The armor to update.
-     * @param damage     The amount of damage to apply.
-     * @param bypass     Bypass the negative damage check.
+     * @param item      The item.
+     * @param container The item's container.
+     * @param stats     The item's stats.
+     * @param stat      The stat to check.
+     * @return What the caller should do next.
      */
-    public ItemMeta updateArmorDamage(ItemStack armorPiece, double damage, boolean bypass) {
-        // ignore if the damage is zero or negative
-        if (damage < 0) {
-            if (!bypass) {
-                return null;
-            }
-        }
-        ItemMeta meta = armorPiece.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", armorPiece);
-            return null;
-        }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
+    private StatCheck checkStat(ItemStack item, PersistentDataContainer container, StatValues stats, StatDefinition stat) {
         // if it's disabled, don't update the stats
         // check to see if the item has the stats, remove them if it does
-        if (!toolStats.config.getBoolean("enabled.armor-damage")) {
-            if (container.has(toolStats.armorDamage)) {
-                Double armorDamage = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
-                if (armorDamage == null) {
-                    return null;
-                }
-                container.remove(toolStats.armorDamage);
-                container.remove(toolStats.loreIndexArmorDamage);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "damage-taken");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldDamageTakenFormatted = toolStats.numberFormat.formatDouble(armorDamage);
-                    Component lineToRemove = toolStats.configTools.formatLore("damage-taken", "{damage}", oldDamageTakenFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexArmorDamage, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
+        if (!toolStats.configTools.checkConfig(item.getType(), stat)) {
+            return stats.has(stat) ? StatCheck.STRIP : StatCheck.SKIP;
         }
 
+        int tokens = toolStats.itemChecker.readTokens(container);
+        boolean validToken = (tokens & stat.tokenBit()) != 0;
         // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "damage-taken");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
+        if (toolStats.tokens) {
             // if the item has stats but no token, add the token
-            if (container.has(toolStats.armorDamage) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(armorPiece);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+            if (stats.has(stat) && !validToken) {
+                toolStats.itemChecker.setTokens(container, tokens | toolStats.itemChecker.tokensForStats(stats));
             }
 
             // the item does not have a valid token
             if (!validToken) {
-                return null;
+                return StatCheck.SKIP;
             }
         } else {
             if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(armorPiece);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
+                int newTokens = tokens | toolStats.itemChecker.tokensForStats(stats);
+                if (newTokens != tokens) {
+                    toolStats.itemChecker.setTokens(container, newTokens);
                 }
             }
         }
+        return StatCheck.PROCEED;
+    }
 
-        Double damageTaken = 0.0;
-        if (container.has(toolStats.armorDamage, PersistentDataType.DOUBLE)) {
-            damageTaken = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
-        }
-
-        if (damageTaken == null) {
-            damageTaken = 0.0;
-            toolStats.logger.warn("{} does not have valid damage-taken set! Resting to zero. This should NEVER happen.", armorPiece);
-        }
+    /**
+     * Remove a disabled stat, its lore, and its token from an item.
+     *
+     * @param container The item's container.
+     * @param edit      The item's lore.
+     * @param stat      The stat to remove.
+     * @return If anything was removed.
+     */
+    private boolean stripStat(PersistentDataContainer container, LoreEdit edit, StatDefinition stat) {
+        StatValues stats = edit.stats();
+        boolean headless = toolStats.configTools.isHeadless();
+        CompactLine compact = headless ? null : toolStats.configTools.getCompactLine(stat);
+        if (compact != null) {
+            markCompact(edit, compact);
+        }
+        boolean storeOnly = headless || compact != null;
+        Component lineToRemove = storeOnly ? null : formatStoredLine(stats, stat);
+        if (!storeOnly && lineToRemove == null) {
+            return false;
+        }
+        if (!storeOnly) {
+            removeLoreIndexed(edit, stat, lineMatcher(stat, () -> toPlain(lineToRemove)));
+            if (stat.type() == StatType.LONG) {
+                removeLegacyFlightTime(edit, stats.getLong(stat));
+            }
+        }
+        stats.remove(stat);
+        // remove the applied token if this stat is disabled
+        toolStats.itemChecker.removeToken(container, stat);
+        return true;
+    }
 
-        container.set(toolStats.armorDamage, PersistentDataType.DOUBLE, damageTaken + damage);
-        String oldDamageFormatted = toolStats.numberFormat.formatDouble(damageTaken);
-        String newDamageFormatted = toolStats.numberFormat.formatDouble(damageTaken + damage);
-        Component oldLine = toolStats.configTools.formatLore("damage-taken", "{damage}", oldDamageFormatted);
-        Component newLine = toolStats.configTools.formatLore("damage-taken", "{damage}", newDamageFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexArmorDamage, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+    /**
+     * Add a change to the stored value and swap the old lore line for the new one.
+     * If the stat was already on the item and the formatted value is the same,
+     * only the stored value is updated and the lore is left alone.
+     *
+     * @param edit  The item's lore.
+     * @param delta The change to apply.
+     * @return If the stat was updated.
+     */
+    private boolean applyDelta(LoreEdit edit, StatDelta delta) {
+        StatDefinition stat = delta.stat();
+        StatValues stats = edit.stats();
+        // only the stored value is kept in headless mode
+        boolean headless = toolStats.configTools.isHeadless();
+        // stats on a compact line are rendered together once every change is in
+        CompactLine compact = headless ? null : toolStats.configTools.getCompactLine(stat);
+        if (compact != null) {
+            markCompact(edit, compact);
+        }
+        boolean storeOnly = headless || compact != null;
+        // read the current stats from the item
+        // if they don't exist, then start from 0
+        switch (stat.type()) {
+            case INT -> {
+                Integer stored = stats.getInt(stat);
+                boolean existed = stored != null;
+                int current = existed ? stored : 0;
+                int updated = current + (int) delta.amount();
+                if (storeOnly) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                String oldValue = toolStats.numberFormat.formatInt(current);
+                String newValue = toolStats.numberFormat.formatInt(updated);
+                if (existed && oldValue.equals(newValue)) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                if (existed && deferRender(edit, stat)) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                Component newLine = formatLine(stat, newValue);
+                if (newLine == null) {
+                    return false;
+                }
+                stats.set(stat, updated);
+                renderLine(edit, stat, () -> formatLine(stat, oldValue), newLine);
+            }
+            case LONG -> {
+                Long stored = stats.getLong(stat);
+                boolean existed = stored != null;
+                long current = existed ? stored : 0L;
+                long updated = current + delta.amount();
+                if (storeOnly) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                // lore only shows whole seconds
+                if (existed && current / 1000 == updated / 1000) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                if (existed && deferRender(edit, stat)) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                Component newLine = toolStats.configTools.formatDuration(stat.messageKey(), updated);
+                if (newLine == null) {
+                    return false;
+                }
+                stats.set(stat, updated);
+                removeLegacyFlightTime(edit, current);
+                renderLine(edit, stat, () -> toolStats.configTools.formatDuration(stat.messageKey(), current), newLine);
+            }
+            case DOUBLE -> {
+                Double stored = stats.getDouble(stat);
+                boolean existed = stored != null;
+                double current = existed ? stored : 0.0;
+                double updated = current + delta.decimalAmount();
+                if (storeOnly) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                String oldValue = toolStats.numberFormat.formatDouble(current);
+                String newValue = toolStats.numberFormat.formatDouble(updated);
+                if (existed && oldValue.equals(newValue)) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                if (existed && deferRender(edit, stat)) {
+                    stats.set(stat, updated);
+                    return true;
+                }
+                Component newLine = formatLine(stat, newValue);
+                if (newLine == null) {
+                    return false;
+                }
+                stats.set(stat, updated);
+                renderLine(edit, stat, () -> formatLine(stat, oldValue), newLine);
+            }
+        }
+        return true;
     }
 
     /**
-     * Add damage to a weapon.
+     * Remember what a compact line showed before this edit changed any of its stats.
+     * Must be called before the stat's value changes.
      *
-     * @param weapon The weapon to update.
-     * @param damage The amount of damage to apply.
-     * @param bypass Bypass the negative damage check.
+     * @param edit The item's lore.
+     * @param line The compact line.
      */
-    public ItemMeta updateWeaponDamage(ItemStack weapon, double damage, boolean bypass) {
-        // ignore if the damage is zero or negative
-        if (damage < 0) {
-            if (!bypass) {
-                return null;
-            }
+    private void markCompact(LoreEdit edit, CompactLine line) {
+        if (edit.compactShown == null) {
+            edit.compactShown = new HashMap<>();
         }
-        ItemMeta meta = weapon.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", weapon);
-            return null;
-        }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.configTools.checkConfig(weapon.getType(), "damage-done")) {
-            if (container.has(toolStats.damageDone)) {
-                Double damageDone = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
-                if (damageDone == null) {
-                    return null;
-                }
-                container.remove(toolStats.damageDone);
-                container.remove(toolStats.loreIndexDamageDone);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "damage-done");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldDamageDoneFormatted = toolStats.numberFormat.formatDouble(damageDone);
-                    Component lineToRemove = toolStats.configTools.formatLore("damage-done", "{damage}", oldDamageDoneFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexDamageDone, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
+        if (!edit.compactShown.containsKey(line)) {
+            edit.compactShown.put(line, fillCompactLine(line, edit.stats(), edit.type));
         }
+    }
 
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "damage-done");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.damageDone) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(weapon);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+    /**
+     * Swap every compact line that was touched by an edit. Lines that would
+     * show the same values are left alone without being rendered.
+     *
+     * @param edit The item's lore.
+     */
+    private void renderCompactLines(LoreEdit edit) {
+        for (Map.Entry<CompactLine, String[]> entry : edit.compactShown.entrySet()) {
+            CompactLine line = entry.getKey();
+            String[] shown = entry.getValue();
+            String[] filled = fillCompactLine(line, edit.stats(), edit.type);
+            if (Arrays.equals(shown, filled)) {
+                continue;
+            }
+            // the line is still there and can be found again by a refresh
+            if (edit.deferLore && shown != null && filled != null && line.hasSignature()) {
+                continue;
+            }
+
+            // every stat on the line shares the first stat's slot in the layout
+            StatDefinition anchor = line.stats().get(0);
+            Predicate<Component> isOldLine;
+            if (shown == null) {
+                isOldLine = lore -> false;
+            } else if (line.hasSignature()) {
+                isOldLine = line::matches;
+            } else {
+                String shownText = toPlain(line.render(shown));
+                isOldLine = lore -> shownText.equals(toPlain(lore));
             }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
+            if (filled == null) {
+                removeLoreIndexed(edit, anchor, isOldLine);
+                continue;
             }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(weapon);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+            updateItemLoreIndexed(edit, anchor, isOldLine, line.render(filled));
+            int index = edit.layout().get(anchor);
+            for (StatDefinition stat : line.stats()) {
+                edit.layout().set(stat, index);
             }
         }
-
-        Double damageDone = 0.0;
-        if (container.has(toolStats.damageDone, PersistentDataType.DOUBLE)) {
-            damageDone = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
-        }
-
-        if (damageDone == null) {
-            damageDone = 0.0;
-            toolStats.logger.warn("{} does not have valid damage-done set! Resting to zero. This should NEVER happen.", weapon);
-        }
-
-        container.set(toolStats.damageDone, PersistentDataType.DOUBLE, damageDone + damage);
-        String oldDamageFormatted = toolStats.numberFormat.formatDouble(damageDone);
-        String newDamageFormatted = toolStats.numberFormat.formatDouble(damageDone + damage);
-        Component oldLine = toolStats.configTools.formatLore("damage-done", "{damage}", oldDamageFormatted);
-        Component newLine = toolStats.configTools.formatLore("damage-done", "{damage}", newDamageFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexDamageDone, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
     }
 
     /**
-     * Add flight time to an elytra.
+     * Fill in a compact line with the values stored on the item.
      *
-     * @param elytra The player's elytra.
+     * @param line  The compact line.
+     * @param stats The item's stats.
+     * @param type  The item type, stats that are disabled for it are left out.
+     * @return The values in the line's order, or null if the item has none of its stats.
      */
-    public ItemMeta updateFlightTime(ItemStack elytra, long duration) {
-        ItemMeta meta = elytra.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", elytra);
-            return null;
-        }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
+    public String[] fillCompactLine(CompactLine line, StatValues stats, Material type) {
+        return line.fill(stat -> toolStats.configTools.checkConfig(type, stat) ? formatCompactValue(stats, stat) : null);
+    }
 
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.config.getBoolean("enabled.flight-time")) {
-            if (container.has(toolStats.flightTime)) {
-                Long flightTime = container.get(toolStats.flightTime, PersistentDataType.LONG);
-                if (flightTime == null) {
+    /**
+     * Format a stat's value for a compact line. Times are shortened to "1h 5m 3s".
+     *
+     * @param stats The item's stats.
+     * @param stat  The stat.
+     * @return The value, or null if the stat is not stored.
+     */
+    public String formatCompactValue(StatValues stats, StatDefinition stat) {
+        switch (stat.type()) {
+            case INT -> {
+                Integer value = stats.getInt(stat);
+                return value == null ? null : toolStats.numberFormat.formatInt(value);
+            }
+            case LONG -> {
+                Long value = stats.getLong(stat);
+                if (value == null) {
                     return null;
                 }
-                container.remove(toolStats.flightTime);
-                container.remove(toolStats.loreIndexFlightTime);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "flight-time");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
+                StringBuilder time = new StringBuilder();
+                for (DurationUnit unit : DurationUnit.values()) {
+                    if (!unit.shown(value)) {
+                        continue;
                     }
-                }
-                if (meta.hasLore()) {
-                    // if the old format is in the config, check to see if the old format is on the elytra
-                    if (toolStats.config.getString("messages.flight-time-old") != null) {
-                        String oldFormatFormatted = toolStats.numberFormat.formatDouble((double) flightTime / 1000);
-                        Component oldFormat = toolStats.configTools.formatLore("flight-time-old", "{time}", oldFormatFormatted);
-                        List<Component> newLore = removeLore(meta.lore(), oldFormat);
-                        meta.lore(newLore);
+                    if (!time.isEmpty()) {
+                        time.append(' ');
                     }
-
-                    Map<String, String> oldFlightTimeFormatted = toolStats.numberFormat.formatTime(flightTime);
-                    Component lineToRemove = toolStats.configTools.formatLoreMultiplePlaceholders("flight-time", oldFlightTimeFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexFlightTime, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
-        }
-
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "flight-time");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.flightTime) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(elytra);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
+                    time.append(unit.amount(value)).append(unit.abbreviation());
                 }
+                return time.toString();
             }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
+            default -> {
+                Double value = stats.getDouble(stat);
+                return value == null ? null : toolStats.numberFormat.formatDouble(value);
             }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(elytra);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-        }
-
-        // read the current stats from the item
-        // if they don't exist, then start from 0
-        Long flightTime = 0L;
-        if (container.has(toolStats.flightTime, PersistentDataType.LONG)) {
-            flightTime = container.get(toolStats.flightTime, PersistentDataType.LONG);
         }
+    }
 
-        if (flightTime == null) {
-            flightTime = 0L;
-            toolStats.logger.warn("{} does not have valid flight-time set! Resting to zero. This should NEVER happen.", flightTime);
-        }
+    /**
+     * Swap a stat's line in the lore.
+     *
+     * @param edit    The item's lore.
+     * @param stat    The stat being rendered.
+     * @param oldLine Builds the line for the old value, only used if the message has no signature.
+     * @param newLine The line for the new value.
+     */
+    private void renderLine(LoreEdit edit, StatDefinition stat, Supplier<Component> oldLine, Component newLine) {
+        updateItemLoreIndexed(edit, stat, lineMatcher(stat, () -> toPlain(oldLine.get())), newLine);
+    }
 
-        container.set(toolStats.flightTime, PersistentDataType.LONG, flightTime + duration);
-        Map<String, String> oldFlightFormatted = toolStats.numberFormat.formatTime(flightTime);
-        Map<String, String> newFlightFormatted = toolStats.numberFormat.formatTime(flightTime + duration);
-        // if the old format is in the config, check to see if the old format is on the elytra
-        if (toolStats.config.getString("messages.flight-time-old") != null) {
-            if (meta.hasLore()) {
-                String oldFormatFormatted = toolStats.numberFormat.formatDouble((double) flightTime / 1000);
-                Component oldFormat = toolStats.configTools.formatLore("flight-time-old", "{time}", oldFormatFormatted);
-                meta.lore(removeLore(meta.lore(), oldFormat));
-            }
-        }
-        Component oldLine = toolStats.configTools.formatLoreMultiplePlaceholders("flight-time", oldFlightFormatted);
-        Component newLine = toolStats.configTools.formatLoreMultiplePlaceholders("flight-time", newFlightFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
+    /**
+     * Check if a stat's line can be left alone for now. Only lines that can be
+     * found by their message's signature are held back, since the text they show
+     * will no longer match the stored value.
+     *
+     * @param edit The item's lore.
+     * @param stat The stat being updated.
+     * @return If rendering should be skipped.
+     */
+    private boolean deferRender(LoreEdit edit, StatDefinition stat) {
+        if (!edit.deferLore) {
+            return false;
         }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexFlightTime, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+        LoreTemplate template = toolStats.configTools.getTemplate(stat.messageKey());
+        return template != null && template.hasSignature();
     }
 
     /**
-     * Add x to sheep sheared stat.
+     * Redraw any stat lines that are behind the stored values, like lines that
+     * were held back by the refresh interval.
      *
-     * @param shears The shears.
+     * @param item The item to refresh.
+     * @return The updated meta, or null if every line was up to date.
      */
-    public ItemMeta updateSheepSheared(ItemStack shears, int add) {
-        ItemMeta meta = shears.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", shears);
+    public ItemMeta refreshLore(ItemStack item) {
+        if (item == null || item.isEmpty() || toolStats.configTools.isHeadless()) {
             return null;
         }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.config.getBoolean("enabled.sheep-sheared")) {
-            if (container.has(toolStats.sheepSheared)) {
-                Integer sheepSheared = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
-                if (sheepSheared == null) {
-                    return null;
-                }
-                container.remove(toolStats.sheepSheared);
-                container.remove(toolStats.loreIndexSheepSheared);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "sheep-sheared");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldSheepShearedFormatted = toolStats.numberFormat.formatDouble(sheepSheared);
-                    Component lineToRemove = toolStats.configTools.formatLore("sheep-sheared", "{sheep}", oldSheepShearedFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexSheepSheared, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
+        ItemMeta meta = item.getItemMeta();
+        if (!meta.hasLore()) {
             return null;
         }
-
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "sheep-sheared");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.sheepSheared) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(shears);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
-            }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(shears);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-        }
-
-        Integer sheepSheared = 0;
-        if (container.has(toolStats.sheepSheared, PersistentDataType.INTEGER)) {
-            sheepSheared = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
-        }
-
-        if (sheepSheared == null) {
-            sheepSheared = 0;
-            toolStats.logger.warn("{} does not have valid sheared set! Resting to zero. This should NEVER happen.", shears);
-        }
-
-        container.set(toolStats.sheepSheared, PersistentDataType.INTEGER, sheepSheared + add);
-        String oldSheepFormatted = toolStats.numberFormat.formatInt(sheepSheared);
-        String newSheepFormatted = toolStats.numberFormat.formatInt(sheepSheared + add);
-        Component oldLine = toolStats.configTools.formatLore("sheep-sheared", "{sheep}", oldSheepFormatted);
-        Component newLine = toolStats.configTools.formatLore("sheep-sheared", "{sheep}", newSheepFormatted);
-        if (oldLine == null || newLine == null) {
+        List<Component> refreshed = refreshLines(item.getType(), toolStats.statStore.read(meta.getPersistentDataContainer()), meta.lore());
+        if (refreshed == null) {
             return null;
         }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexSheepSheared, oldLine, newLine);
-        meta.lore(newLore);
+        meta.lore(refreshed);
         return meta;
     }
 
     /**
-     * Add x to arrows shot stat.
+     * Redraw any stat lines that are behind the stored values, writing the
+     * lore component in place. The item's data is only read.
      *
-     * @param bow The bow.
+     * @param item The item to refresh.
+     * @return If any line was redrawn.
      */
-    public ItemMeta updateArrowsShot(ItemStack bow, int add) {
-        ItemMeta meta = bow.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", bow);
-            return null;
+    public boolean refreshLoreInPlace(ItemStack item) {
+        if (item == null || item.isEmpty() || toolStats.configTools.isHeadless()) {
+            return false;
         }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.config.getBoolean("enabled.arrows-shot")) {
-            if (container.has(toolStats.arrowsShot)) {
-                Integer arrowsShot = container.get(toolStats.arrowsShot, PersistentDataType.INTEGER);
-                if (arrowsShot == null) {
-                    return null;
-                }
-                container.remove(toolStats.arrowsShot);
-                container.remove(toolStats.loreIndexArrowsShot);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "arrows-shot");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldArrowsShotFormatted = toolStats.numberFormat.formatDouble(arrowsShot);
-                    Component lineToRemove = toolStats.configTools.formatLore("arrows-shot", "{arrows}", oldArrowsShotFormatted);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexArrowsShot, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
+        io.papermc.paper.datacomponent.item.ItemLore lore = item.getData(DataComponentTypes.LORE);
+        if (lore == null || lore.lines().isEmpty()) {
+            return false;
         }
+        List<Component> refreshed = refreshLines(item.getType(), toolStats.statStore.read(item.getPersistentDataContainer()), lore.lines());
+        if (refreshed == null) {
+            return false;
+        }
+        item.setData(DataComponentTypes.LORE, io.papermc.paper.datacomponent.item.ItemLore.lore(refreshed));
+        return true;
+    }
 
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "arrows-shot");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.arrowsShot) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(bow);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
-            }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
+    /**
+     * Swap every line that can be found by its signature for one that shows the stored value.
+     *
+     * @param type  The item type.
+     * @param stats The item's stats.
+     * @param lore  The item's lore, not changed.
+     * @return The new lore, or null if every line was up to date.
+     */
+    private List<Component> refreshLines(Material type, StatValues stats, List<Component> lore) {
+        List<Component> refreshed = null;
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            if (!stats.has(stat) || toolStats.configTools.getCompactLine(stat) != null || !toolStats.configTools.checkConfig(type, stat)) {
+                continue;
             }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(bow);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+            LoreTemplate template = toolStats.configTools.getTemplate(stat.messageKey());
+            if (template == null || !template.hasSignature()) {
+                continue;
             }
+            refreshed = refreshLine(lore, refreshed, template::matches, formatStoredLine(stats, stat));
         }
-
-        // read the current stats from the item
-        // if they don't exist, then start from 0
-        Integer arrowsShot = 0;
-        if (container.has(toolStats.arrowsShot, PersistentDataType.INTEGER)) {
-            arrowsShot = container.get(toolStats.arrowsShot, PersistentDataType.INTEGER);
+        for (CompactLine line : toolStats.configTools.getCompactLines()) {
+            if (!line.hasSignature()) {
+                continue;
+            }
+            String[] values = fillCompactLine(line, stats, type);
+            if (values != null) {
+                refreshed = refreshLine(lore, refreshed, line::matches, line.render(values));
+            }
         }
+        return refreshed;
+    }
 
-        if (arrowsShot == null) {
-            arrowsShot = 0;
-            toolStats.logger.warn("{} does not have valid arrows-shot set! Resting to zero. This should NEVER happen.", arrowsShot);
+    /**
+     * Swap the first line that matches for a new one, if its text is different.
+     *
+     * @param lore      The item's lore.
+     * @param refreshed The copy made by an earlier swap, or null if there is none yet.
+     * @param isLine    Finds the line.
+     * @param newLine   The line to show, or null to leave it alone.
+     * @return The copy with the line swapped, or refreshed if nothing changed.
+     */
+    private List<Component> refreshLine(List<Component> lore, List<Component> refreshed, Predicate<Component> isLine, Component newLine) {
+        if (newLine == null) {
+            return refreshed;
         }
-
-        container.set(toolStats.arrowsShot, PersistentDataType.INTEGER, arrowsShot + add);
-        String oldArrowsFormatted = toolStats.numberFormat.formatInt(arrowsShot);
-        String newArrowsFormatted = toolStats.numberFormat.formatInt(arrowsShot + add);
-        Component oldLine = toolStats.configTools.formatLore("arrows-shot", "{arrows}", oldArrowsFormatted);
-        Component newLine = toolStats.configTools.formatLore("arrows-shot", "{arrows}", newArrowsFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
+        List<Component> current = refreshed != null ? refreshed : lore;
+        for (int x = 0; x < current.size(); x++) {
+            Component line = current.get(x);
+            if (!isLine.test(line)) {
+                continue;
+            }
+            if (toPlain(line).equals(toPlain(newLine))) {
+                return refreshed;
+            }
+            List<Component> copy = refreshed != null ? refreshed : new ArrayList<>(lore);
+            copy.set(x, newLine);
+            return copy;
         }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexArrowsShot, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+        return refreshed;
     }
 
     /**
-     * Add x to fish caught stat.
+     * Older versions stored flight time in seconds using "flight-time-old".
+     * If that format is in the config, remove it from the elytra.
      *
-     * @param fishingRod The fishing rod.
+     * @param edit       The item's lore.
+     * @param flightTime The flight time in milliseconds.
      */
-    public ItemMeta updateFishCaught(ItemStack fishingRod, int add) {
-        ItemMeta meta = fishingRod.getItemMeta();
-        if (meta == null) {
-            toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", fishingRod);
-            return null;
+    private void removeLegacyFlightTime(LoreEdit edit, long flightTime) {
+        if (toolStats.configTools.getTemplate("flight-time-old") == null || edit.lore().isEmpty()) {
+            return;
         }
-
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-
-        // if it's disabled, don't update the stats
-        // check to see if the item has the stats, remove them if it does
-        if (!toolStats.config.getBoolean("enabled.fish-caught")) {
-            if (container.has(toolStats.fishCaught)) {
-                Integer fishCaught = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
-                if (fishCaught == null) {
-                    return null;
-                }
-                container.remove(toolStats.fishCaught);
-                container.remove(toolStats.loreIndexFishCaught);
-                // remove the applied token if this stat is disabled
-                if (container.has(toolStats.tokenApplied)) {
-                    String appliedTokens = container.get(toolStats.tokenApplied, PersistentDataType.STRING);
-                    if (appliedTokens != null) {
-                        // remove the token from the list
-                        // if the list is empty, remove the PDC
-                        // otherwise set the PDC back with the new list
-                        List<String> newTokens = toolStats.itemChecker.removeToken(appliedTokens, "fish-caught");
-                        if (!newTokens.isEmpty()) {
-                            container.set(toolStats.tokenApplied, PersistentDataType.STRING, String.join(",", newTokens));
-                        } else {
-                            container.remove(toolStats.tokenApplied);
-                        }
-                    }
-                }
-                if (meta.hasLore()) {
-                    String oldFishCaught = toolStats.numberFormat.formatDouble(fishCaught);
-                    Component lineToRemove = toolStats.configTools.formatLore("fished.fish-caught", "{fish}", oldFishCaught);
-                    List<Component> newLore = removeLoreIndexed(meta, container, toolStats.loreIndexFishCaught, lineToRemove);
-                    meta.lore(newLore);
-                }
-                return meta;
-            }
-            return null;
+        String oldFormatFormatted = toolStats.numberFormat.formatDouble((double) flightTime / 1000);
+        Component oldFormat = toolStats.configTools.formatLore("flight-time-old", "{time}", oldFormatFormatted);
+        if (oldFormat != null) {
+            String targetPlain = toPlain(oldFormat);
+            removeLines(edit, line -> targetPlain.equals(toPlain(line)));
         }
+    }
 
-        // check for tokens
-        boolean validToken = toolStats.itemChecker.checkTokens(container, "fish-caught");
-        // check for tokens
-        if (toolStats.config.getBoolean("tokens.enabled")) {
-            // if the item has stats but no token, add the token
-            if (container.has(toolStats.fishCaught) && !validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(fishingRod);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+    /**
+     * Format the lore line for the value currently stored on the item.
+     *
+     * @param stats The item's stats.
+     * @param stat  The stat to format.
+     * @return The lore line, or null if the stat is not stored.
+     */
+    public Component formatStoredLine(StatValues stats, StatDefinition stat) {
+        switch (stat.type()) {
+            case INT -> {
+                Integer value = stats.getInt(stat);
+                return value == null ? null : formatLine(stat, toolStats.numberFormat.formatInt(value));
             }
-
-            // the item does not have a valid token
-            if (!validToken) {
-                return null;
+            case LONG -> {
+                Long value = stats.getLong(stat);
+                return value == null ? null : toolStats.configTools.formatDuration(stat.messageKey(), value);
             }
-        } else {
-            if (!validToken) {
-                String newTokens = toolStats.itemChecker.addTokensToExisting(fishingRod);
-                if (newTokens != null) {
-                    container.set(toolStats.tokenApplied, PersistentDataType.STRING, newTokens);
-                }
+            default -> {
+                Double value = stats.getDouble(stat);
+                return value == null ? null : formatLine(stat, toolStats.numberFormat.formatDouble(value));
             }
         }
+    }
 
-        Integer fishCaught = 0;
-        if (container.has(toolStats.fishCaught, PersistentDataType.INTEGER)) {
-            fishCaught = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
-        }
-
-        if (fishCaught == null) {
-            fishCaught = 0;
-            toolStats.logger.warn("{} does not have valid fish-caught set! Resting to zero. This should NEVER happen.", fishingRod);
-        }
-
-        container.set(toolStats.fishCaught, PersistentDataType.INTEGER, fishCaught + add);
-        String oldFishFormatted = toolStats.numberFormat.formatInt(fishCaught);
-        String newFishFormatted = toolStats.numberFormat.formatInt(fishCaught + add);
-        Component oldLine = toolStats.configTools.formatLore("fished.fish-caught", "{fish}", oldFishFormatted);
-        Component newLine = toolStats.configTools.formatLore("fished.fish-caught", "{fish}", newFishFormatted);
-        if (oldLine == null || newLine == null) {
-            return null;
-        }
-        List<Component> newLore = updateItemLoreIndexed(meta, container, toolStats.loreIndexFishCaught, oldLine, newLine);
-        meta.lore(newLore);
-        return meta;
+    private Component formatLine(StatDefinition stat, String value) {
+        return toolStats.configTools.formatLore(stat.messageKey(), stat.placeholder(), value);
     }
 
     /**
@@ -1181,40 +903,55 @@ public class ItemLore {
      * @return A component with the lore.
      */
     public Component formatOwner(String playerName, int origin, ItemStack item) {
+        String configName = ownerMessage(origin, item.getType());
+        if (configName == null) {
+            return null;
+        }
+        return toolStats.configTools.formatLore(configName, "{player}", playerName);
+    }
+
+    /**
+     * Get the message used for an origin's owner.
+     *
+     * @param origin The origin type.
+     * @param type   The item type.
+     * @return The message, or null if the origin is turned off for this item.
+     */
+    public String ownerMessage(int origin, Material type) {
         switch (origin) {
             case 0: {
-                if (toolStats.configTools.checkConfig(item.getType(), "crafted-by")) {
-                    return toolStats.configTools.formatLore("crafted.crafted-by", "{player}", playerName);
+                if (toolStats.configTools.checkConfig(type, "crafted-by")) {
+                    return "crafted.crafted-by";
                 }
                 break;
             }
             case 2: {
-                if (toolStats.configTools.checkConfig(item.getType(), "looted-by")) {
-                    return toolStats.configTools.formatLore("looted.looted-by", "{player}", playerName);
+                if (toolStats.configTools.checkConfig(type, "looted-by")) {
+                    return "looted.looted-by";
                 }
                 break;
             }
             case 3: {
-                if (toolStats.configTools.checkConfig(item.getType(), "traded-by")) {
-                    return toolStats.configTools.formatLore("traded.traded-by", "{player}", playerName);
+                if (toolStats.configTools.checkConfig(type, "traded-by")) {
+                    return "traded.traded-by";
                 }
                 break;
             }
             case 4: {
-                if (toolStats.config.getBoolean("enabled.elytra-tag")) {
-                    return toolStats.configTools.formatLore("looted.found-by", "{player}", playerName);
+                if (toolStats.settings.isEnabled("elytra-tag")) {
+                    return "looted.found-by";
                 }
                 break;
             }
             case 5: {
-                if (toolStats.configTools.checkConfig(item.getType(), "fished-by")) {
-                    return toolStats.configTools.formatLore("fished.caught-by", "{player}", playerName);
+                if (toolStats.configTools.checkConfig(type, "fished-by")) {
+                    return "fished.caught-by";
                 }
                 break;
             }
             case 6: {
-                if (toolStats.configTools.checkConfig(item.getType(), "spawned-in-by")) {
-                    return toolStats.configTools.formatLore("spawned-in.spawned-by", "{player}", playerName);
+                if (toolStats.configTools.checkConfig(type, "spawned-in-by")) {
+                    return "spawned-in.spawned-by";
                 }
                 break;
             }
@@ -1231,47 +968,89 @@ public class ItemLore {
      * @return A component with the lore.
      */
     public Component formatCreationTime(long creationDate, int origin, ItemStack item) {
-        String date = toolStats.numberFormat.formatDate(new Date(creationDate));
+        String configName = creationMessage(origin, item.getType());
+        if (configName == null) {
+            return null;
+        }
+        return formatCreationLine(configName, origin, creationDate);
+    }
+
+    /**
+     * Format the creation time line once the origin is known to be turned on.
+     *
+     * @param configName   The message to use.
+     * @param origin       The origin type.
+     * @param creationDate When the item was created.
+     * @return A component with the lore.
+     */
+    public Component formatCreationLine(String configName, int origin, long creationDate) {
+        NumberFormat numberFormat = toolStats.numberFormat;
+        // with the time of day in the format, every item shows something different
+        if (numberFormat.dateHasTime()) {
+            return toolStats.configTools.formatLore(configName, "{date}", numberFormat.formatDate(creationDate));
+        }
+        // otherwise every item made on the same day shows the same line,
+        // so the line from the last item with this origin is reused until the day rolls over
+        long day = numberFormat.epochDay(creationDate);
+        CreationLine cached = creationLines.get(origin);
+        if (cached != null && cached.day() == day) {
+            return cached.line();
+        }
+        Component line = toolStats.configTools.formatLore(configName, "{date}", numberFormat.formatDate(creationDate));
+        if (line != null) {
+            creationLines.set(origin, new CreationLine(day, line));
+        }
+        return line;
+    }
+
+    /**
+     * Get the message used for an origin's creation date.
+     *
+     * @param origin The origin type.
+     * @param type   The item type.
+     * @return The message, or null if the origin is turned off for this item.
+     */
+    public String creationMessage(int origin, Material type) {
         switch (origin) {
             case 0: {
-                if (toolStats.configTools.checkConfig(item.getType(), "crafted-on")) {
-                    return toolStats.configTools.formatLore("crafted.crafted-on", "{date}", date);
+                if (toolStats.configTools.checkConfig(type, "crafted-on")) {
+                    return "crafted.crafted-on";
                 }
                 break;
             }
             case 1: {
-                if (toolStats.config.getBoolean("enabled.dropped-on")) {
-                    return toolStats.configTools.formatLore("dropped-on", "{date}", date);
+                if (toolStats.settings.isEnabled("dropped-on")) {
+                    return "dropped-on";
                 }
                 break;
             }
             case 2: {
-                if (toolStats.configTools.checkConfig(item.getType(), "looted-on")) {
-                    return toolStats.configTools.formatLore("looted.looted-on", "{date}", date);
+                if (toolStats.configTools.checkConfig(type, "looted-on")) {
+                    return "looted.looted-on";
                 }
                 break;
             }
             case 3: {
-                if (toolStats.configTools.checkConfig(item.getType(), "traded-on")) {
-                    return toolStats.configTools.formatLore("traded.traded-on", "{date}", date);
+                if (toolStats.configTools.checkConfig(type, "traded-on")) {
+                    return "traded.traded-on";
                 }
                 break;
             }
             case 4: {
-                if (toolStats.config.getBoolean("enabled.elytra-tag")) {
-                    return toolStats.configTools.formatLore("looted.found-on", "{date}", date);
+                if (toolStats.settings.isEnabled("elytra-tag")) {
+                    return "looted.found-on";
                 }
                 break;
             }
             case 5: {
-                if (toolStats.configTools.checkConfig(item.getType(), "fished-on")) {
-                    return toolStats.configTools.formatLore("fished.caught-on", "{date}", date);
+                if (toolStats.configTools.checkConfig(type, "fished-on")) {
+                    return "fished.caught-on";
                 }
                 break;
             }
             case 6: {
-                if (toolStats.configTools.checkConfig(item.getType(), "spawned-in-on")) {
-                    return toolStats.configTools.formatLore("spawned-in.spawned-on", "{date}", date);
+                if (toolStats.configTools.checkConfig(type, "spawned-in-on")) {
+                    return "spawned-in.spawned-on";
                 }
                 break;
             }
@@ -1279,8 +1058,17 @@ public class ItemLore {
         return null;
     }
 
+    /**
+     * Forget the cached creation date lines. Called when the config is loaded.
+     */
+    public void clearCreationLines() {
+        for (int i = 0; i < creationLines.length(); i++) {
+            creationLines.set(i, null);
+        }
+    }
+
     public ItemStack addMapCreatedBy(ItemStack inputMap, Player creator) {
-        if (!toolStats.config.getBoolean("enabled.map-created-by")) {
+        if (!toolStats.settings.isEnabled("map-created-by")) {
             return null;
         }
         if (inputMap.getType() != Material.FILLED_MAP) {
@@ -1304,16 +1092,18 @@ public class ItemLore {
             return null;
         }
 
-        List<Component> lore = meta.hasLore() ? meta.lore() : new ArrayList<>();
         container.set(toolStats.mapCreatedBy, new UUIDDataType(), creator.getUniqueId());
-        lore.add(createdByLore);
-        meta.lore(lore);
+        if (!toolStats.configTools.isHeadless()) {
+            List<Component> lore = meta.hasLore() ? meta.lore() : new ArrayList<>();
+            lore.add(createdByLore);
+            meta.lore(lore);
+        }
         map.setItemMeta(meta);
         return map;
     }
 
     public ItemStack addMapDuplicatedBy(ItemStack inputMap, Player duplicator) {
-        if (!toolStats.config.getBoolean("enabled.map-duplicated-by")) {
+        if (!toolStats.settings.isEnabled("map-duplicated-by")) {
             return null;
         }
         if (inputMap.getType() != Material.FILLED_MAP) {
@@ -1355,7 +1145,9 @@ public class ItemLore {
         }
 
         container.set(toolStats.mapDuplicatedBy, new UUIDDataType(), duplicator.getUniqueId());
-        meta.lore(lore);
+        if (!toolStats.configTools.isHeadless()) {
+            meta.lore(lore);
+        }
         map.setItemMeta(meta);
         return map;
     }
@@ -1370,185 +1162,27 @@ public class ItemLore {
         ItemStack finalItem = inputItem.clone();
         ItemMeta meta = finalItem.getItemMeta();
         PersistentDataContainer container = meta.getPersistentDataContainer();
+        Predicate<Component> ownedLines = toolStats.loreRenderer.ownedLines(finalItem, meta);
 
         // remove the applied tokens
-        if (container.has(toolStats.tokenApplied)) {
-            container.remove(toolStats.tokenApplied);
-        }
-        container.remove(toolStats.loreIndexPlayerKills);
-        container.remove(toolStats.loreIndexMobKills);
-        container.remove(toolStats.loreIndexBlocksMined);
-        container.remove(toolStats.loreIndexCropsMined);
-        container.remove(toolStats.loreIndexFishCaught);
-        container.remove(toolStats.loreIndexSheepSheared);
-        container.remove(toolStats.loreIndexArmorDamage);
-        container.remove(toolStats.loreIndexDamageDone);
-        container.remove(toolStats.loreIndexArrowsShot);
-        container.remove(toolStats.loreIndexFlightTime);
-
-        if (container.has(toolStats.playerKills)) {
-            Integer playerKills = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
-            if (playerKills != null) {
-                container.remove(toolStats.playerKills);
-
-                String playerKillsFormatted = toolStats.numberFormat.formatInt(playerKills);
-                Component lineToRemove = toolStats.configTools.formatLore("kills.player", "{kills}", playerKillsFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexPlayerKills, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.mobKills)) {
-            Integer mobKills = container.get(toolStats.mobKills, PersistentDataType.INTEGER);
-            if (mobKills != null) {
-                container.remove(toolStats.mobKills);
-                String mobKillsFormatted = toolStats.numberFormat.formatInt(mobKills);
-                Component lineToRemove = toolStats.configTools.formatLore("kills.mob", "{kills}", mobKillsFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexMobKills, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.blocksMined)) {
-            Integer blocksMined = container.get(toolStats.blocksMined, PersistentDataType.INTEGER);
-            if (blocksMined != null) {
-                container.remove(toolStats.blocksMined);
-                String blocksMinedFormatted = toolStats.numberFormat.formatInt(blocksMined);
-                Component lineToRemove = toolStats.configTools.formatLore("blocks-mined", "{blocks}", blocksMinedFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexBlocksMined, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.cropsHarvested)) {
-            Integer cropsHarvested = container.get(toolStats.playerKills, PersistentDataType.INTEGER);
-            if (cropsHarvested != null) {
-                container.remove(toolStats.cropsHarvested);
-                String cropsHarvestedFormatted = toolStats.numberFormat.formatInt(cropsHarvested);
-                Component lineToRemove = toolStats.configTools.formatLore("crops-harvested", "{crops}", cropsHarvestedFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexCropsMined, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.fishCaught)) {
-            Integer fishCaught = container.get(toolStats.fishCaught, PersistentDataType.INTEGER);
-            if (fishCaught != null) {
-                container.remove(toolStats.fishCaught);
-                String fishCaughtFormatted = toolStats.numberFormat.formatInt(fishCaught);
-                Component lineToRemove = toolStats.configTools.formatLore("fished.fish-caught", "{fish}", fishCaughtFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexFishCaught, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.sheepSheared)) {
-            Integer sheepSheared = container.get(toolStats.sheepSheared, PersistentDataType.INTEGER);
-            if (sheepSheared != null) {
-                container.remove(toolStats.sheepSheared);
-                String sheepShearedFormatted = toolStats.numberFormat.formatInt(sheepSheared);
-                Component lineToRemove = toolStats.configTools.formatLore("sheep.sheared", "{sheep}", sheepShearedFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexSheepSheared, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.armorDamage)) {
-            Double armorDamage = container.get(toolStats.armorDamage, PersistentDataType.DOUBLE);
-            if (armorDamage != null) {
-                container.remove(toolStats.armorDamage);
-                String armorDamageFormatted = toolStats.numberFormat.formatDouble(armorDamage);
-                Component lineToRemove = toolStats.configTools.formatLore("damage-taken", "{damage}", armorDamageFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexArmorDamage, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.damageDone)) {
-            Double damageDone = container.get(toolStats.damageDone, PersistentDataType.DOUBLE);
-            if (damageDone != null) {
-                container.remove(toolStats.damageDone);
-                String damageDoneFormatted = toolStats.numberFormat.formatDouble(damageDone);
-                Component lineToRemove = toolStats.configTools.formatLore("damage-done", "{damage}", damageDoneFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexDamageDone, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.arrowsShot)) {
-            Integer arrowsShot = container.get(toolStats.arrowsShot, PersistentDataType.INTEGER);
-            if (arrowsShot != null) {
-                container.remove(toolStats.arrowsShot);
+        toolStats.itemChecker.setTokens(container, 0);
 
-                String arrowsShotFormatted = toolStats.numberFormat.formatInt(arrowsShot);
-                Component lineToRemove = toolStats.configTools.formatLore("arrows-shot", "{arrows}", arrowsShotFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexArrowsShot, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
-        }
-        if (container.has(toolStats.flightTime)) {
-            Long flightTime = container.get(toolStats.flightTime, PersistentDataType.LONG);
-            if (flightTime != null) {
-                container.remove(toolStats.flightTime);
-                Map<String, String> flightTimeFormatted = toolStats.numberFormat.formatTime(flightTime);
-                Component lineToRemove = toolStats.configTools.formatLoreMultiplePlaceholders("flight-time", flightTimeFormatted);
-                meta.lore(removeLoreIndexed(meta, container, toolStats.loreIndexFlightTime, lineToRemove));
-                finalItem.setItemMeta(meta);
-            }
+        StatValues stats = toolStats.statStore.read(container);
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            stats.remove(stat);
         }
-        if (removeMeta) {
-            Integer origin = null;
-            if (container.has(toolStats.originType)) {
-                origin = container.get(toolStats.originType, PersistentDataType.INTEGER);
-            }
-
-            if (container.has(toolStats.timeCreated)) {
-                Long timeCreated = container.get(toolStats.timeCreated, PersistentDataType.LONG);
-                if (timeCreated != null && origin != null) {
-                    container.remove(toolStats.timeCreated);
-                    Component timeCreatedLore = formatCreationTime(timeCreated, origin, finalItem);
-                    meta.lore(removeLore(meta.lore(), timeCreatedLore));
-                }
-            }
-            if (container.has(toolStats.itemOwner)) {
-                UUID owner = container.get(toolStats.itemOwner, new UUIDDataType());
-                if (owner != null && origin != null) {
-                    container.remove(toolStats.itemOwner);
-                    String ownerName = Bukkit.getOfflinePlayer(owner).getName();
-                    if (ownerName != null) {
-                        Component ownerLore = formatOwner(ownerName, origin, finalItem);
-                        meta.lore(removeLore(meta.lore(), ownerLore));
-                    }
-                }
-            }
-
-            if (container.has(toolStats.mapCreatedBy)) {
-                UUID mapCreator = container.get(toolStats.mapCreatedBy, new UUIDDataType());
-                container.remove(toolStats.mapCreatedBy);
-                if (mapCreator != null) {
-                    String mapCreatorName = Bukkit.getOfflinePlayer(mapCreator).getName();
-                    if (mapCreatorName != null) {
-                        Component createdByLore = toolStats.configTools.formatLore("maps.created-by", "{player}", mapCreatorName);
-                        if (createdByLore != null) {
-                            meta.lore(removeLore(meta.lore(), createdByLore));
-                        }
-                    }
-                }
-            }
+        toolStats.statStore.write(container, stats);
 
-            if (container.has(toolStats.mapDuplicatedBy)) {
-                UUID mapDuplicator = container.get(toolStats.mapDuplicatedBy, new UUIDDataType());
-                container.remove(toolStats.mapDuplicatedBy);
-                if (mapDuplicator != null) {
-                    String mapDuplicatorName = Bukkit.getOfflinePlayer(mapDuplicator).getName();
-                    if (mapDuplicatorName != null) {
-                        Component duplicatedByLore = toolStats.configTools.formatLore("maps.duplicated-by", "{player}", mapDuplicatorName);
-                        if (duplicatedByLore != null) {
-                            meta.lore(removeLore(meta.lore(), duplicatedByLore));
-                        }
-                    }
-                }
-            }
-
-            if (origin != null) {
-                container.remove(toolStats.originType);
-            }
-
-            finalItem.setItemMeta(meta);
+        if (removeMeta) {
+            container.remove(toolStats.timeCreated);
+            container.remove(toolStats.itemOwner);
+            container.remove(toolStats.mapCreatedBy);
+            container.remove(toolStats.mapDuplicatedBy);
+            container.remove(toolStats.originType);
         }
 
+        toolStats.loreRenderer.render(finalItem, meta, ownedLines);
+        finalItem.setItemMeta(meta);
         return finalItem;
     }
 }
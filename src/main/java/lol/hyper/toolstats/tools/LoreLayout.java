@@ -0,0 +1,178 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+import lol.hyper.toolstats.ToolStats;
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Arrays;
+
+/**
+ * Remembers which lore line each stat is on, stored as one byte array.
+ * The array is indexed by stat id, and each entry holds the line number + 1.
+ * 0 means the stat's line is not known.
+ */
+public final class LoreLayout {
+
+    // lines past this are found by searching the lore
+    private static final int MAX_LINE = 254;
+
+    private final byte[] lines;
+    private boolean dirty;
+    // the item still has one index key per stat from an older version
+    private boolean legacy;
+
+    private LoreLayout(byte[] lines, boolean dirty) {
+        this.lines = lines;
+        this.dirty = dirty;
+    }
+
+    /**
+     * Read the layout from an item. Items from older versions have one
+     * index key per stat, those are read into the layout and only removed
+     * once the layout is written.
+     *
+     * @param toolStats ToolStats instance.
+     * @param container The item's container, which is not changed.
+     * @return The item's layout.
+     */
+    public static LoreLayout read(ToolStats toolStats, PersistentDataContainerView container) {
+        int size = toolStats.statRegistry.getStats().size();
+        byte[] stored = container.get(toolStats.loreLayout, PersistentDataType.BYTE_ARRAY);
+        if (stored != null) {
+            return new LoreLayout(stored.length == size ? stored : Arrays.copyOf(stored, size), false);
+        }
+
+        LoreLayout layout = new LoreLayout(new byte[size], false);
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            Integer index = container.get(stat.loreIndexKey(), PersistentDataType.INTEGER);
+            if (index == null) {
+                continue;
+            }
+            layout.legacy = true;
+            int line = index;
+            if (line >= 0 && line <= MAX_LINE) {
+                layout.lines[stat.id()] = (byte) (line + 1);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Start a new layout with no known lines.
+     *
+     * @param toolStats ToolStats instance.
+     * @return The layout.
+     */
+    public static LoreLayout empty(ToolStats toolStats) {
+        return new LoreLayout(new byte[toolStats.statRegistry.getStats().size()], true);
+    }
+
+    /**
+     * Remove the layout from an item, along with any index keys from older versions.
+     *
+     * @param toolStats ToolStats instance.
+     * @param container The item's container.
+     */
+    public static void removeFrom(ToolStats toolStats, PersistentDataContainer container) {
+        container.remove(toolStats.loreLayout);
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            container.remove(stat.loreIndexKey());
+        }
+    }
+
+    /**
+     * Get the line a stat is on.
+     *
+     * @param stat The stat.
+     * @return The line, or -1 if it's not known.
+     */
+    public int get(StatDefinition stat) {
+        return (lines[stat.id()] & 0xFF) - 1;
+    }
+
+    /**
+     * Set the line a stat is on.
+     *
+     * @param stat The stat.
+     * @param line The line.
+     */
+    public void set(StatDefinition stat, int line) {
+        byte value = line >= 0 && line <= MAX_LINE ? (byte) (line + 1) : 0;
+        if (lines[stat.id()] != value) {
+            lines[stat.id()] = value;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forget the line a stat is on.
+     *
+     * @param stat The stat.
+     */
+    public void clear(StatDefinition stat) {
+        set(stat, -1);
+    }
+
+    /**
+     * Move the stats below a removed line up by one.
+     *
+     * @param line The line that was removed.
+     */
+    public void lineRemoved(int line) {
+        for (int i = 0; i < lines.length; i++) {
+            int current = (lines[i] & 0xFF) - 1;
+            if (current == line) {
+                lines[i] = 0;
+                dirty = true;
+            } else if (current > line) {
+                lines[i] = (byte) current;
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Save the layout to an item if it changed. Index keys from older
+     * versions are replaced by the layout at the same time.
+     *
+     * @param toolStats ToolStats instance.
+     * @param container The item's container.
+     */
+    public void write(ToolStats toolStats, PersistentDataContainer container) {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        if (legacy) {
+            legacy = false;
+            for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+                container.remove(stat.loreIndexKey());
+            }
+        }
+        for (byte line : lines) {
+            if (line != 0) {
+                container.set(toolStats.loreLayout, PersistentDataType.BYTE_ARRAY, lines.clone());
+                return;
+            }
+        }
+        container.remove(toolStats.loreLayout);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import lol.hyper.hyperlib.datatypes.UUIDDataType;
+import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.config.CompactLine;
+import lol.hyper.toolstats.tools.config.LoreTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Builds all ToolStats lore for an item from its data in one pass.
+ * Lines from other plugins are kept where they are, and the ToolStats
+ * lines are put back as one block where the first one used to be.
+ * <p>
+ * Use {@link #ownedLines(ItemStack, ItemMeta)} before changing the item's
+ * data, since the old lines can only be recognized from the old data.
+ */
+public class LoreRenderer {
+
+    private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
+
+    private final ToolStats toolStats;
+
+    public LoreRenderer(ToolStats toolStats) {
+        this.toolStats = toolStats;
+    }
+
+    /**
+     * Build a check that finds the ToolStats lines currently on an item.
+     *
+     * @param item The item.
+     * @param meta The item's meta, before any changes.
+     * @return The check.
+     */
+    public Predicate<Component> ownedLines(ItemStack item, ItemMeta meta) {
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        Set<String> known = new HashSet<>();
+        for (Component line : buildBlock(item, container, null)) {
+            known.add(PLAIN.serialize(line));
+        }
+        // stats may be disabled, but their lines are still ours
+        StatValues stats = toolStats.statStore.read(container);
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            Component line = toolStats.itemLore.formatStoredLine(stats, stat);
+            if (line != null) {
+                known.add(PLAIN.serialize(line));
+            }
+        }
+        for (CompactLine compactLine : toolStats.configTools.getCompactLines()) {
+            String[] filled = compactLine.fill(stat -> toolStats.itemLore.formatCompactValue(stats, stat));
+            if (filled != null) {
+                known.add(PLAIN.serialize(compactLine.render(filled)));
+            }
+        }
+        Long flightTime = stats.getLong(toolStats.statRegistry.flightTime);
+        if (flightTime != null && toolStats.configTools.getTemplate("flight-time-old") != null) {
+            Component oldFormat = toolStats.configTools.formatLore("flight-time-old", "{time}", toolStats.numberFormat.formatDouble((double) flightTime / 1000));
+            if (oldFormat != null) {
+                known.add(PLAIN.serialize(oldFormat));
+            }
+        }
+
+        // lines that were held back by the refresh interval show an older value
+        List<LoreTemplate> signatures = new ArrayList<>();
+        for (LoreTemplate template : toolStats.configTools.getTemplates()) {
+            if (template.hasSignature()) {
+                signatures.add(template);
+            }
+        }
+        List<CompactLine> compactSignatures = new ArrayList<>();
+        for (CompactLine compactLine : toolStats.configTools.getCompactLines()) {
+            if (compactLine.hasSignature()) {
+                compactSignatures.add(compactLine);
+            }
+        }
+        return line -> {
+            String text = PLAIN.serialize(line);
+            if (known.contains(text)) {
+                return true;
+            }
+            for (LoreTemplate template : signatures) {
+                if (template.matchesText(text)) {
+                    return true;
+                }
+            }
+            for (CompactLine compactLine : compactSignatures) {
+                if (compactLine.matches(line)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Rebuild the ToolStats lore on an item from its current data.
+     *
+     * @param item    The item.
+     * @param meta    The item's meta, with the data already changed.
+     * @param isOwned Finds the old ToolStats lines, from {@link #ownedLines(ItemStack, ItemMeta)}.
+     */
+    public void render(ItemStack item, ItemMeta meta, Predicate<Component> isOwned) {
+        PersistentDataContainer container = meta.getPersistentDataContainer();
+        LoreLayout layout = LoreLayout.empty(toolStats);
+        // headless items keep their stats in data only
+        List<Component> block = toolStats.configTools.isHeadless() ? new ArrayList<>() : buildBlock(item, container, layout);
+
+        List<Component> oldLore = meta.hasLore() ? meta.lore() : Collections.emptyList();
+        List<Component> lore = new ArrayList<>(oldLore.size() + block.size());
+        int insertAt = -1;
+        for (Component line : oldLore) {
+            if (isOwned.test(line)) {
+                if (insertAt == -1) {
+                    insertAt = lore.size();
+                }
+                continue;
+            }
+            lore.add(line);
+        }
+        if (insertAt == -1) {
+            insertAt = lore.size();
+        }
+        lore.addAll(insertAt, block);
+        meta.lore(lore);
+
+        // the lore now matches the data exactly
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            int line = layout.get(stat);
+            if (line != -1) {
+                layout.set(stat, line + insertAt);
+            }
+        }
+        LoreLayout.removeFrom(toolStats, container);
+        layout.write(toolStats, container);
+    }
+
+    /**
+     * Build the ToolStats lines for an item without touching its lore.
+     * Used to show stats on demand when lore is turned off.
+     *
+     * @param item      The item.
+     * @param container The item's container.
+     * @return The lines, empty if the item has no stats.
+     */
+    public List<Component> buildLines(ItemStack item, PersistentDataContainerView container) {
+        return buildBlock(item, container, null);
+    }
+
+    /**
+     * Build the ToolStats lines for an item in their canonical order.
+     * Origin lines come first, then the compact lines, then each other stat in id order.
+     *
+     * @param item      The item.
+     * @param container The item's container.
+     * @param layout    Records where each stat line is in the block, can be null.
+     * @return The lines.
+     */
+    private List<Component> buildBlock(ItemStack item, PersistentDataContainerView container, LoreLayout layout) {
+        List<Component> block = new ArrayList<>();
+
+        Integer origin = container.get(toolStats.originType, PersistentDataType.INTEGER);
+        if (origin == null) {
+            origin = -1;
+        }
+
+        if (toolStats.settings.isEnabled("dropped-by")) {
+            String droppedBy = container.get(toolStats.droppedBy, PersistentDataType.STRING);
+            if (droppedBy != null) {
+                addLine(block, toolStats.configTools.formatLore("dropped-by", "{name}", droppedBy));
+            }
+        }
+
+        UUID owner = container.get(toolStats.itemOwner, new UUIDDataType());
+        if (owner != null) {
+            String ownerName = Bukkit.getOfflinePlayer(owner).getName();
+            if (ownerName != null) {
+                addLine(block, toolStats.itemLore.formatOwner(ownerName, origin, item));
+            }
+        }
+
+        Long timeCreated = container.get(toolStats.timeCreated, PersistentDataType.LONG);
+        if (timeCreated != null) {
+            addLine(block, toolStats.itemLore.formatCreationTime(timeCreated, origin, item));
+        }
+
+        if (toolStats.settings.isEnabled("map-created-by")) {
+            UUID mapCreator = container.get(toolStats.mapCreatedBy, new UUIDDataType());
+            String mapCreatorName = mapCreator == null ? null : Bukkit.getOfflinePlayer(mapCreator).getName();
+            if (mapCreatorName != null) {
+                addLine(block, toolStats.configTools.formatLore("maps.created-by", "{player}", mapCreatorName));
+            }
+        }
+
+        if (toolStats.settings.isEnabled("map-duplicated-by")) {
+            UUID mapDuplicator = container.get(toolStats.mapDuplicatedBy, new UUIDDataType());
+            String mapDuplicatorName = mapDuplicator == null ? null : Bukkit.getOfflinePlayer(mapDuplicator).getName();
+            if (mapDuplicatorName != null) {
+                addLine(block, toolStats.configTools.formatLore("maps.duplicated-by", "{player}", mapDuplicatorName));
+            }
+        }
+
+        StatValues stats = toolStats.statStore.read(container);
+        for (CompactLine compactLine : toolStats.configTools.getCompactLines()) {
+            String[] filled = toolStats.itemLore.fillCompactLine(compactLine, stats, item.getType());
+            if (filled == null) {
+                continue;
+            }
+            block.add(compactLine.render(filled));
+            if (layout != null) {
+                for (StatDefinition stat : compactLine.stats()) {
+                    layout.set(stat, block.size() - 1);
+                }
+            }
+        }
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            if (!stats.has(stat) || !toolStats.configTools.checkConfig(item.getType(), stat)) {
+                continue;
+            }
+            if (toolStats.configTools.getCompactLine(stat) != null) {
+                continue;
+            }
+            if (addLine(block, toolStats.itemLore.formatStoredLine(stats, stat)) && layout != null) {
+                layout.set(stat, block.size() - 1);
+            }
+        }
+        return block;
+    }
+
+    private boolean addLine(List<Component> block, Component line) {
+        if (line == null) {
+            return false;
+        }
+        block.add(line);
+        return true;
+    }
+}
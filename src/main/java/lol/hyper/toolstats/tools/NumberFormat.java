@@ -21,21 +21,33 @@ import lol.hyper.toolstats.ToolStats;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 
+/**
+ * Formats numbers and dates for lore. Every method is safe to call from any
+ * region thread at the same time.
+ */
 public class NumberFormat {
 
-    private DecimalFormat DECIMAL_FORMAT;
-    private DecimalFormat COMMA_FORMAT;
-    private SimpleDateFormat DATE_FORMAT;
+    private final ThreadLocal<DecimalFormat> DECIMAL_FORMAT;
+    private final ThreadLocal<DecimalFormat> COMMA_FORMAT;
+    private final DateTimeFormatter DATE_FORMAT;
+    // if the date format shows anything smaller than a day
+    private final boolean dateHasTime;
+
+    // used to write whole numbers without DecimalFormat when the comma format is a plain grouping pattern
+    private final boolean plainGrouping;
+    private final int groupingSize;
+    private final char groupingSeparator;
+    private final char minusSign;
 
     /**
      * Utility class to format different numbers
@@ -76,38 +88,78 @@ public class NumberFormat {
             toolStats.logger.warn("number-formats.comma-separator is missing! Using default #,###.00 instead.");
         }
 
-        // test the date format
+        // test the date format, formatting once catches patterns that parse but can't be printed
+        DateTimeFormatter dateFormatter;
         try {
-            DATE_FORMAT = new SimpleDateFormat(dateFormat, Locale.getDefault());
-        } catch (NullPointerException | IllegalArgumentException exception) {
-            toolStats.logger.error("Invalid format or missing format", exception);
-            toolStats.logger.warn("date-format is NOT a valid format! Using default American English format.");
-            DATE_FORMAT = new SimpleDateFormat("M/dd/yyyy", Locale.ENGLISH);
+            dateFormatter = DateTimeFormatter.ofPattern(dateFormat, Locale.getDefault()).withZone(ZoneId.systemDefault());
+            dateFormatter.format(Instant.now());
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            toolStats.logger.warn("date-format \"{}\" is not a valid DateTimeFormatter pattern ({}). Using the default \"M/dd/yyyy\" instead.", dateFormat, exception.getMessage());
+            toolStats.logger.warn("See https://docs.oracle.com/en/java/javase/21/docs/api/java.base/java/time/format/DateTimeFormatter.html for the pattern syntax.");
+            dateFormatter = DateTimeFormatter.ofPattern("M/dd/yyyy", Locale.ENGLISH).withZone(ZoneId.systemDefault());
         }
+        DATE_FORMAT = dateFormatter;
+        // any time field prints differently at the start and the end of the same day
+        LocalDate today = LocalDate.now(dateFormatter.getZone());
+        ZonedDateTime startOfDay = today.atStartOfDay(dateFormatter.getZone());
+        ZonedDateTime endOfDay = today.atTime(LocalTime.MAX).atZone(dateFormatter.getZone());
+        dateHasTime = !dateFormatter.format(startOfDay).equals(dateFormatter.format(endOfDay));
 
         // set the separators
+        // narrow and regular no-break spaces don't render in lore, so use a normal space for them
         DecimalFormatSymbols formatSymbols = new DecimalFormatSymbols(Locale.getDefault());
-        formatSymbols.setDecimalSeparator(decimalSeparator.charAt(0));
-        formatSymbols.setGroupingSeparator(commaSeparator.charAt(0));
-
+        formatSymbols.setDecimalSeparator(cleanSeparator(decimalSeparator.charAt(0)));
+        formatSymbols.setGroupingSeparator(cleanSeparator(commaSeparator.charAt(0)));
 
         // test the comma format
+        DecimalFormat comma;
         try {
-            COMMA_FORMAT = new DecimalFormat(commaFormat, formatSymbols);
+            comma = new DecimalFormat(commaFormat, formatSymbols);
         } catch (NullPointerException | IllegalArgumentException exception) {
             toolStats.logger.error("Invalid comma or missing format", exception);
             toolStats.logger.warn("number-formats.comma-format is NOT a valid format! Using default #,### instead.");
-            COMMA_FORMAT = new DecimalFormat("#,###", formatSymbols);
+            comma = new DecimalFormat("#,###", formatSymbols);
         }
 
         // test the decimal format
+        DecimalFormat decimal;
         try {
-            DECIMAL_FORMAT = new DecimalFormat(decimalFormat, formatSymbols);
+            decimal = new DecimalFormat(decimalFormat, formatSymbols);
         } catch (NullPointerException | IllegalArgumentException exception) {
             toolStats.logger.error("Invalid decimal or missing format", exception);
             toolStats.logger.warn("number-formats.decimal-format is NOT a valid format! Using default #,###.00 instead.");
-            DECIMAL_FORMAT = new DecimalFormat("#,###.00", formatSymbols);
+            decimal = new DecimalFormat("#,###.00", formatSymbols);
+        }
+
+        // DecimalFormat is not thread safe, so every thread gets its own copy
+        DecimalFormat commaBase = comma;
+        DecimalFormat decimalBase = decimal;
+        COMMA_FORMAT = ThreadLocal.withInitial(() -> (DecimalFormat) commaBase.clone());
+        DECIMAL_FORMAT = ThreadLocal.withInitial(() -> (DecimalFormat) decimalBase.clone());
+
+        minusSign = formatSymbols.getMinusSign();
+        groupingSeparator = formatSymbols.getGroupingSeparator();
+        groupingSize = comma.isGroupingUsed() ? comma.getGroupingSize() : 0;
+        plainGrouping = comma.getMaximumFractionDigits() == 0
+                && comma.getMinimumIntegerDigits() <= 1
+                && comma.getMultiplier() == 1
+                && comma.getPositivePrefix().isEmpty()
+                && comma.getPositiveSuffix().isEmpty()
+                && comma.getNegativeSuffix().isEmpty()
+                && comma.getNegativePrefix().equals(String.valueOf(minusSign));
+    }
+
+    /**
+     * Swap separators that don't render in lore for a normal space.
+     *
+     * @param separator The separator from the config.
+     * @return The separator to use.
+     */
+    private static char cleanSeparator(char separator) {
+        if (separator == '\u202f' || separator == '\u00A0') {
+            return ' ';
         }
+        return separator;
     }
 
     /**
@@ -117,9 +169,38 @@ public class NumberFormat {
      * @return The formatted number.
      */
     public String formatInt(int number) {
-        String finalNumber = COMMA_FORMAT.format(number);
-        finalNumber = finalNumber.replaceAll("[\\x{202f}\\x{00A0}]", " ");
-        return finalNumber;
+        return formatLong(number);
+    }
+
+    /**
+     * Formats a number to make it pretty. Example: 4322 to 4,322
+     *
+     * @param number The number to format.
+     * @return The formatted number.
+     */
+    public String formatLong(long number) {
+        if (!plainGrouping) {
+            return COMMA_FORMAT.get().format(number);
+        }
+
+        // enough room for every digit of a long, a separator between each and the sign
+        char[] buffer = new char[40];
+        int position = buffer.length;
+        // count down in negatives so Long.MIN_VALUE works too
+        long remaining = number < 0 ? number : -number;
+        int digits = 0;
+        do {
+            if (groupingSize > 0 && digits > 0 && digits % groupingSize == 0) {
+                buffer[--position] = groupingSeparator;
+            }
+            buffer[--position] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+            digits++;
+        } while (remaining != 0);
+        if (number < 0) {
+            buffer[--position] = minusSign;
+        }
+        return new String(buffer, position, buffer.length - position);
     }
 
     /**
@@ -129,9 +210,7 @@ public class NumberFormat {
      * @return The formatted number.
      */
     public String formatDouble(double number) {
-        String finalNumber = DECIMAL_FORMAT.format(number);
-        finalNumber = finalNumber.replaceAll("[\\x{202f}\\x{00A0}]", " ");
-        return finalNumber;
+        return DECIMAL_FORMAT.get().format(number);
     }
 
     /**
@@ -141,63 +220,36 @@ public class NumberFormat {
      * @return The date into a readable format.
      */
     public String formatDate(Date date) {
-        return DATE_FORMAT.format(date);
+        return formatDate(date.getTime());
     }
 
     /**
-     * Returns a human-readable form of time in milliseconds.
-     * E.g. given 3752348000L outputs 1 year, 5 months, 3 days, 14 hours, 12 minutes, 28 seconds.
+     * Formats a date into the readable format.
      *
-     * @param time The time in ms.
-     * @return Map with units as keys and time value, e.g. "years" (key) -> 1 (value)
+     * @param time The date in ms.
+     * @return The date into a readable format.
      */
-    public Map<String, String> formatTime(Long time) {
-        final int SECONDS_PER_MINUTE = 60;
-        final int MINUTES_PER_HOUR = 60;
-        final int HOURS_PER_DAY = 24;
-        final int DAYS_PER_MONTH = 30;  // Approximation
-        final int DAYS_PER_YEAR = 365;  // Approximation
-
-        long totalSeconds = time / 1000;
-
-        Map<String, String> timeUnits = new HashMap<>();
-
-        long years = totalSeconds / (DAYS_PER_YEAR * HOURS_PER_DAY * MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-        if (years > 0) {
-            timeUnits.put("years", Long.toString(years));
-        }
-        totalSeconds %= (DAYS_PER_YEAR * HOURS_PER_DAY * MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-
-        long months = totalSeconds / (DAYS_PER_MONTH * HOURS_PER_DAY * MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-        if (months > 0) {
-            timeUnits.put("months", Long.toString(months));
-        }
-        totalSeconds %= (DAYS_PER_MONTH * HOURS_PER_DAY * MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-
-        long days = totalSeconds / (HOURS_PER_DAY * MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-        if (days > 0) {
-            timeUnits.put("days", Long.toString(days));
-        }
-        totalSeconds %= (HOURS_PER_DAY * MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-
-        long hours = totalSeconds / (MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-        if (hours > 0) {
-            timeUnits.put("hours", Long.toString(hours));
-        }
-        totalSeconds %= (MINUTES_PER_HOUR * SECONDS_PER_MINUTE);
-
-        long minutes = totalSeconds / SECONDS_PER_MINUTE;
-        if (minutes > 0) {
-            timeUnits.put("minutes", Long.toString(minutes));
-        }
-        totalSeconds %= SECONDS_PER_MINUTE;
+    public String formatDate(long time) {
+        return DATE_FORMAT.format(Instant.ofEpochMilli(time));
+    }
 
-        long seconds = totalSeconds;
-        if (seconds > 0 || timeUnits.isEmpty()) {  // Always include seconds if everything else is zero
-            timeUnits.put("seconds", Long.toString(seconds));
-        }
+    /**
+     * Check if the date format shows the time of day, not just the date.
+     *
+     * @return If dates on the same day can format differently.
+     */
+    public boolean dateHasTime() {
+        return dateHasTime;
+    }
 
-        return timeUnits;
+    /**
+     * Get the day a time falls on, in the zone dates are formatted in.
+     *
+     * @param time The time in ms.
+     * @return The day, counted from the epoch.
+     */
+    public long epochDay(long time) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(time), DATE_FORMAT.getZone()).toEpochDay();
     }
 
     public Date normalizeTime(Long time) {
@@ -0,0 +1,309 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import lol.hyper.hyperlib.datatypes.UUIDDataType;
+import lol.hyper.toolstats.ToolStats;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds origin tags and lore (crafted, looted, traded, etc) to new items.
+ * <p>
+ * The time, hash setting and lore lines are worked out once per batch, so a loot
+ * table that rolls a dozen items only formats each line once.
+ */
+public class OriginStamper {
+
+    private final ToolStats toolStats;
+
+    public OriginStamper(ToolStats toolStats) {
+        this.toolStats = toolStats;
+    }
+
+    /**
+     * Add origin tags and lore to an item.
+     *
+     * @param item   The item to stamp.
+     * @param origin The origin type.
+     * @param owner  The player who got the item.
+     * @return A stamped copy of the item, or null if nothing was added.
+     */
+    public ItemStack stamp(ItemStack item, int origin, PlayerRef owner) {
+        return new Batch(origin, owner, null).stamp(item);
+    }
+
+    /**
+     * Add origin tags and lore to every item we track in a list. Items that
+     * get stamped are swapped for their stamped copy.
+     *
+     * @param items  The items to stamp.
+     * @param origin The origin type.
+     * @param owner  The player who got the items.
+     */
+    public void stampAll(List<ItemStack> items, int origin, PlayerRef owner) {
+        stampList(items, origin, owner, null);
+    }
+
+    /**
+     * Add "dropped by" tags and lore to a mob's drops. Items that get
+     * stamped are swapped for their stamped copy.
+     *
+     * @param drops   The drops to stamp.
+     * @param mobName The name of the mob that dropped them.
+     */
+    public void stampDrops(List<ItemStack> drops, String mobName) {
+        stampList(drops, 1, null, mobName);
+    }
+
+    /**
+     * Add "found by" tags and lore to a new elytra.
+     *
+     * @param elytra The elytra to stamp.
+     * @param owner  The player who found it.
+     * @return A stamped copy of the elytra, or null if elytra tags are off.
+     */
+    public ItemStack stampElytra(ItemStack elytra, PlayerRef owner) {
+        if (!toolStats.settings.isEnabled("elytra-tag")) {
+            return null;
+        }
+        return new Batch(4, owner, null).stampElytra(elytra);
+    }
+
+    private void stampList(List<ItemStack> items, int origin, PlayerRef owner, String mobName) {
+        Batch batch = null;
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack item = items.get(i);
+            // ignore air
+            if (item == null || item.getType() == Material.AIR) {
+                continue;
+            }
+            if (!toolStats.itemChecker.isValidItem(item.getType())) {
+                continue;
+            }
+            if (batch == null) {
+                batch = new Batch(origin, owner, mobName);
+            }
+            ItemStack stamped = batch.stamp(item);
+            if (stamped != null) {
+                items.set(i, stamped);
+            }
+        }
+    }
+
+    /**
+     * Everything about a stamp that is the same for each item in a batch.
+     * The lore lines are only formatted once an item needs them.
+     */
+    private final class Batch {
+        private final int origin;
+        private final PlayerRef owner;
+        private final String mobName;
+        private final long timeCreated;
+        private final boolean headless;
+        private final boolean generateHash;
+
+        private Component creationLine;
+        private Component ownerLine;
+        private Component droppedByLine;
+        private boolean creationLineMade;
+        private boolean ownerLineMade;
+        private boolean droppedByLineMade;
+
+        private Batch(int origin, PlayerRef owner, String mobName) {
+            this.origin = origin;
+            this.owner = owner;
+            this.mobName = mobName;
+            this.headless = toolStats.configTools.isHeadless();
+            this.generateHash = owner != null && toolStats.settings.generateHash();
+
+            long time = System.currentTimeMillis();
+            if (toolStats.settings.normalizeTimeCreation()) {
+                time = toolStats.numberFormat.normalizeTime(time).getTime();
+            }
+            this.timeCreated = time;
+        }
+
+        /**
+         * Stamp an item that doesn't have an origin yet.
+         *
+         * @param item The item.
+         * @return A stamped copy of the item, or null if nothing was added.
+         */
+        private ItemStack stamp(ItemStack item) {
+            // check the tags before copying anything
+            PersistentDataContainerView view = item.getPersistentDataContainer();
+            if (view.has(toolStats.timeCreated, PersistentDataType.LONG) || view.has(toolStats.itemOwner, PersistentDataType.LONG)) {
+                return null;
+            }
+            if (mobName != null && view.has(toolStats.originType, PersistentDataType.INTEGER)) {
+                return null;
+            }
+
+            ItemStack newItem = item.clone();
+            ItemMeta meta = newItem.getItemMeta();
+            if (meta == null) {
+                toolStats.logger.warn("{} does NOT have any meta! Unable to update stats.", item);
+                return null;
+            }
+            Material type = newItem.getType();
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+            List<Component> lore = new ArrayList<>();
+            boolean changed = false;
+
+            // if creation date is enabled, add it
+            Component creationDate = creationLine(type);
+            if (creationDate != null) {
+                container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
+                container.set(toolStats.originType, PersistentDataType.INTEGER, origin);
+                lore.add(creationDate);
+                changed = true;
+            }
+
+            if (mobName != null) {
+                // if dropped by is enabled, add it
+                if (toolStats.settings.isEnabled("dropped-by")) {
+                    container.set(toolStats.originType, PersistentDataType.INTEGER, origin);
+                    container.set(toolStats.droppedBy, PersistentDataType.STRING, mobName);
+                    Component droppedBy = droppedByLine();
+                    if (droppedBy != null) {
+                        lore.add(droppedBy);
+                    }
+                    changed = true;
+                }
+            } else {
+                // if ownership is enabled, add it
+                Component itemOwner = ownerLine(type);
+                if (itemOwner != null) {
+                    container.set(toolStats.itemOwner, new UUIDDataType(), owner.uuid());
+                    container.set(toolStats.originType, PersistentDataType.INTEGER, origin);
+                    lore.add(itemOwner);
+                    changed = true;
+                }
+            }
+
+            // if hash is enabled, add it
+            if (generateHash) {
+                toolStats.hashMaker.writeHash(container, type, owner.uuid(), timeCreated);
+                changed = true;
+            }
+
+            if (!changed) {
+                return null;
+            }
+            writeLore(meta, lore);
+            newItem.setItemMeta(meta);
+            return newItem;
+        }
+
+        /**
+         * Stamp a new elytra. Elytras are marked when they are placed in end ships,
+         * so they always get their tags once picked up.
+         *
+         * @param elytra The elytra.
+         * @return A stamped copy of the elytra, or null if it has no meta.
+         */
+        private ItemStack stampElytra(ItemStack elytra) {
+            ItemStack newItem = elytra.clone();
+            ItemMeta meta = newItem.getItemMeta();
+            if (meta == null) {
+                return null;
+            }
+            Material type = newItem.getType();
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+
+            // only make the hash if it's enabled
+            if (generateHash) {
+                toolStats.hashMaker.writeHash(container, type, owner.uuid(), timeCreated);
+            }
+
+            container.set(toolStats.timeCreated, PersistentDataType.LONG, timeCreated);
+            container.set(toolStats.itemOwner, new UUIDDataType(), owner.uuid());
+            container.set(toolStats.originType, PersistentDataType.INTEGER, origin);
+            container.remove(toolStats.newElytra);
+
+            List<Component> lore = new ArrayList<>();
+            Component creationDate = creationLine(type);
+            if (creationDate != null) {
+                lore.add(creationDate);
+            }
+            Component itemOwner = ownerLine(type);
+            if (itemOwner != null) {
+                lore.add(itemOwner);
+            }
+
+            writeLore(meta, lore);
+            newItem.setItemMeta(meta);
+            return newItem;
+        }
+
+        /**
+         * Add the new lines after the item's current lore.
+         *
+         * @param meta  The item's meta.
+         * @param lines The new lines.
+         */
+        private void writeLore(ItemMeta meta, List<Component> lines) {
+            if (headless || lines.isEmpty()) {
+                return;
+            }
+            List<Component> lore = meta.hasLore() ? meta.lore() : new ArrayList<>();
+            lore.addAll(lines);
+            meta.lore(lore);
+        }
+
+        private Component creationLine(Material type) {
+            String configName = toolStats.itemLore.creationMessage(origin, type);
+            if (configName == null) {
+                return null;
+            }
+            if (!creationLineMade) {
+                creationLine = toolStats.itemLore.formatCreationLine(configName, origin, timeCreated);
+                creationLineMade = true;
+            }
+            return creationLine;
+        }
+
+        private Component ownerLine(Material type) {
+            String configName = toolStats.itemLore.ownerMessage(origin, type);
+            if (configName == null) {
+                return null;
+            }
+            if (!ownerLineMade) {
+                ownerLine = toolStats.configTools.formatLore(configName, "{player}", owner.name());
+                ownerLineMade = true;
+            }
+            return ownerLine;
+        }
+
+        private Component droppedByLine() {
+            if (!droppedByLineMade) {
+                droppedByLine = toolStats.configTools.formatLore("dropped-by", "{name}", mobName);
+                droppedByLineMade = true;
+            }
+            return droppedByLine;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools;
+
+import org.bukkit.Material;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * The stat changes buffered for one player's items. Changes are kept under the
+ * item they were recorded for, so they follow the item when it moves and are
+ * never put on a different item that ends up in the same slot.
+ */
+final class PendingStats {
+
+    private final Map<ItemKey, Pending> items = new HashMap<>();
+    boolean scheduled = false;
+
+    /**
+     * Get the changes for an item, adding an empty entry if there are none yet.
+     *
+     * @param key       The item.
+     * @param slot      The slot the item is in now.
+     * @param statCount How many stats there are.
+     * @return The changes, indexed by stat id.
+     */
+    long[] deltas(ItemKey key, int slot, int statCount) {
+        Pending entry = items.get(key);
+        if (entry == null) {
+            entry = new Pending(new long[statCount]);
+            items.put(key, entry);
+        }
+        entry.slot = slot;
+        return entry.deltas;
+    }
+
+    /**
+     * Remove the changes recorded for an item.
+     *
+     * @param key The item.
+     * @return The changes, or null if there are none.
+     */
+    long[] take(ItemKey key) {
+        Pending entry = items.remove(key);
+        return entry == null ? null : entry.deltas;
+    }
+
+    /**
+     * Write out the changes for every item that can still be found. Changes for
+     * items that are not in the inventory right now are kept.
+     *
+     * @param keyAt Gets the key of the item in a slot, or null if the slot is empty.
+     * @param size  How many slots there are.
+     * @param write Writes changes to the item in a slot.
+     */
+    void drain(IntFunction<ItemKey> keyAt, int size, SlotWriter write) {
+        ItemKey[] slotKeys = new ItemKey[size];
+        boolean[] read = new boolean[size];
+        IntFunction<ItemKey> cached = slot -> {
+            if (!read[slot]) {
+                read[slot] = true;
+                slotKeys[slot] = keyAt.apply(slot);
+            }
+            return slotKeys[slot];
+        };
+
+        Iterator<Map.Entry<ItemKey, Pending>> iterator = items.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ItemKey, Pending> entry = iterator.next();
+            int slot = locate(entry.getKey(), entry.getValue().slot, cached, size);
+            if (slot == -1) {
+                continue;
+            }
+            write.write(slot, entry.getValue().deltas);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Check if there is nothing left to write.
+     *
+     * @return If no changes are buffered.
+     */
+    boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Find the slot an item is in now.
+     *
+     * @param key      The item.
+     * @param lastSlot The slot the item was in when its last change was recorded.
+     * @param keyAt    Gets the key of the item in a slot.
+     * @param size     How many slots there are.
+     * @return The slot, or -1 if the item is not in the inventory.
+     */
+    private static int locate(ItemKey key, int lastSlot, IntFunction<ItemKey> keyAt, int size) {
+        if (key.equals(keyAt.apply(lastSlot))) {
+            return lastSlot;
+        }
+        // items without an origin can't be told apart once they move
+        if (key.slot() != -1) {
+            return -1;
+        }
+        for (int slot = 0; slot < size; slot++) {
+            if (slot != lastSlot && key.equals(keyAt.apply(slot))) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Identifies an item by its type and origin. Items that have no origin
+     * stored can only be matched by the slot they were in.
+     *
+     * @param type    The item type.
+     * @param created When the item was created, 0 if not stored.
+     * @param owner   The item's owner, null if not stored.
+     * @param slot    The slot for items without an origin, -1 otherwise.
+     */
+    record ItemKey(Material type, long created, UUID owner, int slot) {
+
+        static ItemKey of(Material type, Long created, UUID owner, int slot) {
+            if (created == null && owner == null) {
+                return new ItemKey(type, 0, null, slot);
+            }
+            return new ItemKey(type, created == null ? 0 : created, owner, -1);
+        }
+    }
+
+    /**
+     * Writes buffered changes to the item in a slot.
+     */
+    @FunctionalInterface
+    interface SlotWriter {
+        void write(int slot, long[] deltas);
+    }
+
+    private static final class Pending {
+        private final long[] deltas;
+        private int slot;
+
+        private Pending(long[] deltas) {
+            this.deltas = deltas;
+        }
+    }
+}
@@ -17,8 +17,14 @@
 
 package lol.hyper.toolstats.tools;
 
+import org.bukkit.entity.Player;
+
 import java.util.UUID;
 
 public record PlayerRef(UUID uuid, String name) {
+
+    public static PlayerRef of(Player player) {
+        return new PlayerRef(player.getUniqueId(), player.getName());
+    }
 }
 
@@ -0,0 +1,254 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import lol.hyper.hyperlib.datatypes.UUIDDataType;
+import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.PendingStats.ItemKey;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds stat changes for items in memory and writes them to the item later.
+ * This saves rewriting the item's meta and lore on every single block break.
+ */
+public class StatBuffer {
+
+    private final ToolStats toolStats;
+    private final Map<UUID, PendingStats> pending = new ConcurrentHashMap<>();
+    // when each player's inventory slots last had their lore drawn
+    private final Map<UUID, LoreRefresh> loreRefreshes = new ConcurrentHashMap<>();
+
+    public StatBuffer(ToolStats toolStats) {
+        this.toolStats = toolStats;
+    }
+
+    /**
+     * Check if write-behind is turned on.
+     *
+     * @return If stat changes should be buffered.
+     */
+    public boolean isEnabled() {
+        return toolStats.settings.writeBehind();
+    }
+
+    /**
+     * Buffer a change for the item in a player's inventory slot. Stats that are
+     * turned off for the item are ignored.
+     *
+     * @param player The player.
+     * @param slot   The inventory slot of the item.
+     * @param item   The item in the slot.
+     * @param stat   The stat to change.
+     * @param amount The amount to add.
+     */
+    public void add(Player player, int slot, ItemStack item, StatDefinition stat, long amount) {
+        // don't read the item or hold a change that would never be written
+        if (!toolStats.settings.isEnabled(stat, item.getType())) {
+            return;
+        }
+        PendingStats stats = pending.computeIfAbsent(player.getUniqueId(), uuid -> new PendingStats());
+        long[] deltas = stats.deltas(keyOf(item, slot), slot, toolStats.statRegistry.getStats().size());
+        deltas[stat.id()] += amount;
+
+        if (!stats.scheduled) {
+            stats.scheduled = true;
+            long interval = toolStats.settings.writeBehindFlushInterval();
+            player.getScheduler().runDelayed(toolStats, scheduledTask -> {
+                stats.scheduled = false;
+                flush(player, true);
+            }, () -> pending.remove(player.getUniqueId()), interval);
+        }
+    }
+
+    /**
+     * Write all buffered changes to a player's items. Changes for items that are
+     * not in the inventory right now are kept until the item comes back or is dropped.
+     *
+     * @param player The player.
+     */
+    public void flush(Player player) {
+        flush(player, false);
+    }
+
+    private void flush(Player player, boolean deferLore) {
+        PendingStats stats = pending.get(player.getUniqueId());
+        if (stats == null) {
+            return;
+        }
+
+        PlayerInventory inventory = player.getInventory();
+        stats.drain(slot -> keyOf(inventory.getItem(slot), slot), inventory.getSize(), (slot, deltas) -> write(inventory.getItem(slot), deltas, deferLore && deferLore(player, slot)));
+        if (stats.isEmpty()) {
+            pending.remove(player.getUniqueId(), stats);
+        }
+    }
+
+    /**
+     * Write the buffered changes for an item that already left the player's
+     * inventory, like an item that was just dropped.
+     *
+     * @param player The player the changes were buffered for.
+     * @param item   The item.
+     * @param slot   The slot the item was most likely in, only used for items without an origin.
+     * @return If the item was changed.
+     */
+    public boolean flushItem(Player player, ItemStack item, int slot) {
+        PendingStats stats = pending.get(player.getUniqueId());
+        ItemKey key = keyOf(item, slot);
+        if (stats == null || key == null) {
+            return false;
+        }
+
+        long[] deltas = stats.take(key);
+        if (stats.isEmpty()) {
+            pending.remove(player.getUniqueId(), stats);
+        }
+        return deltas != null && write(item, deltas, false);
+    }
+
+    /**
+     * Drop everything buffered for a player without writing it.
+     *
+     * @param player The player.
+     */
+    public void discard(Player player) {
+        pending.remove(player.getUniqueId());
+        loreRefreshes.remove(player.getUniqueId());
+    }
+
+    /**
+     * Check if the lore of the item in a slot should wait for the refresh interval.
+     * If it should, the slot is remembered so {@link #takeStaleLore(Player)} can
+     * hand it out when the player's items are flushed.
+     *
+     * @param player The player.
+     * @param slot   The inventory slot of the item.
+     * @return If lines that can be found later should be left as they are.
+     */
+    public boolean deferLore(Player player, int slot) {
+        int interval = toolStats.settings.loreRefreshInterval();
+        if (interval <= 0 || slot < 0 || slot >= LoreRefresh.SLOTS) {
+            return false;
+        }
+        LoreRefresh refresh = loreRefreshes.computeIfAbsent(player.getUniqueId(), uuid -> new LoreRefresh());
+        long now = System.currentTimeMillis();
+        if (now - refresh.drawn[slot] >= interval * 50L) {
+            refresh.drawn[slot] = now;
+            return false;
+        }
+        refresh.stale[slot] = true;
+        return true;
+    }
+
+    /**
+     * Check if the lore of the item in an equipment slot should wait for the refresh interval.
+     *
+     * @param player The player.
+     * @param slot   The equipment slot of the item.
+     * @return If lines that can be found later should be left as they are.
+     */
+    public boolean deferLore(Player player, EquipmentSlot slot) {
+        return deferLore(player, switch (slot) {
+            case HAND -> player.getInventory().getHeldItemSlot();
+            case OFF_HAND -> 40;
+            case FEET -> 36;
+            case LEGS -> 37;
+            case CHEST -> 38;
+            case HEAD -> 39;
+            default -> -1;
+        });
+    }
+
+    /**
+     * Get and clear the slots whose lore was held back.
+     *
+     * @param player The player.
+     * @return The slots, empty if nothing was held back.
+     */
+    public List<Integer> takeStaleLore(Player player) {
+        LoreRefresh refresh = loreRefreshes.get(player.getUniqueId());
+        if (refresh == null) {
+            return List.of();
+        }
+        List<Integer> slots = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int slot = 0; slot < LoreRefresh.SLOTS; slot++) {
+            if (refresh.stale[slot]) {
+                refresh.stale[slot] = false;
+                refresh.drawn[slot] = now;
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Write buffered changes for every online player from the current thread.
+     * Only safe when no region is ticking, like on shutdown. Use
+     * StatFlush#flushOnlinePlayers while the server is running.
+     */
+    public void flushAll() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            flush(player);
+        }
+        pending.clear();
+    }
+
+    private boolean write(ItemStack item, long[] deltas, boolean deferLore) {
+        List<StatDelta> changes = new ArrayList<>();
+        for (int id = 0; id < deltas.length; id++) {
+            if (deltas[id] != 0) {
+                changes.add(StatDelta.of(toolStats.statRegistry.getById(id), deltas[id]));
+            }
+        }
+        if (changes.isEmpty()) {
+            return false;
+        }
+        return toolStats.itemLore.applyDeltasInPlace(item, deferLore, changes.toArray(new StatDelta[0]));
+    }
+
+    private ItemKey keyOf(ItemStack item, int slot) {
+        if (item == null || item.isEmpty()) {
+            return null;
+        }
+        PersistentDataContainerView view = item.getPersistentDataContainer();
+        Long created = view.get(toolStats.timeCreated, PersistentDataType.LONG);
+        UUID owner = view.get(toolStats.itemOwner, new UUIDDataType());
+        return ItemKey.of(item.getType(), created, owner, slot);
+    }
+
+    private static final class LoreRefresh {
+        // the main inventory, armor, and off hand
+        private static final int SLOTS = 41;
+
+        private final long[] drawn = new long[SLOTS];
+        private final boolean[] stale = new boolean[SLOTS];
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+import org.bukkit.NamespacedKey;
+
+/**
+ * Everything needed to track a single stat on an item.
+ *
+ * @param id           Stable id for this stat. Never reuse or change an id.
+ * @param tokenType    The token that enables this stat.
+ * @param key          The key the value is stored under.
+ * @param loreIndexKey The line index key from older versions, only read when migrating to the lore layout.
+ * @param configName   The name under "enabled" in the config.
+ * @param perItemType  If the config is split per item type (pickaxe, sword, etc.).
+ * @param messageKey   The name under "messages" in the config.
+ * @param placeholder  The placeholder to replace in the message.
+ * @param type         How the value is stored and rendered.
+ */
+public record StatDefinition(int id, String tokenType, NamespacedKey key, NamespacedKey loreIndexKey, String configName,
+                             boolean perItemType, String messageKey, String placeholder, StatType type) {
+
+    /**
+     * Get this stat's bit in the applied token mask.
+     *
+     * @return The bit.
+     */
+    public int tokenBit() {
+        return 1 << id;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+/**
+ * A change to apply to a stat.
+ *
+ * @param stat          The stat to change.
+ * @param amount        The amount to add for INT and LONG stats.
+ * @param decimalAmount The amount to add for DOUBLE stats.
+ */
+public record StatDelta(StatDefinition stat, long amount, double decimalAmount) {
+
+    public static StatDelta of(StatDefinition stat, long amount) {
+        return new StatDelta(stat, amount, amount);
+    }
+
+    public static StatDelta of(StatDefinition stat, double amount) {
+        return new StatDelta(stat, (long) amount, amount);
+    }
+}
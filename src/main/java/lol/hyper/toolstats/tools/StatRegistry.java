@@ -0,0 +1,94 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+import lol.hyper.toolstats.ToolStats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StatRegistry {
+
+    public final StatDefinition playerKills;
+    public final StatDefinition mobKills;
+    public final StatDefinition blocksMined;
+    public final StatDefinition cropsHarvested;
+    public final StatDefinition fishCaught;
+    public final StatDefinition sheepSheared;
+    public final StatDefinition armorDamage;
+    public final StatDefinition damageDone;
+    public final StatDefinition arrowsShot;
+    public final StatDefinition flightTime;
+
+    private final List<StatDefinition> stats;
+    private final Map<String, StatDefinition> tokenLookup = new HashMap<>();
+    private final StatDefinition[] idLookup;
+
+    public StatRegistry(ToolStats toolStats) {
+        playerKills = new StatDefinition(0, "player-kills", toolStats.playerKills, toolStats.loreIndexPlayerKills, "player-kills", true, "kills.player", "{kills}", StatType.INT);
+        mobKills = new StatDefinition(1, "mob-kills", toolStats.mobKills, toolStats.loreIndexMobKills, "mob-kills", true, "kills.mob", "{kills}", StatType.INT);
+        blocksMined = new StatDefinition(2, "blocks-mined", toolStats.blocksMined, toolStats.loreIndexBlocksMined, "blocks-mined", true, "blocks-mined", "{blocks}", StatType.INT);
+        cropsHarvested = new StatDefinition(3, "crops-mined", toolStats.cropsHarvested, toolStats.loreIndexCropsMined, "crops-harvested", false, "crops-harvested", "{crops}", StatType.INT);
+        fishCaught = new StatDefinition(4, "fish-caught", toolStats.fishCaught, toolStats.loreIndexFishCaught, "fish-caught", false, "fished.fish-caught", "{fish}", StatType.INT);
+        sheepSheared = new StatDefinition(5, "sheep-sheared", toolStats.sheepSheared, toolStats.loreIndexSheepSheared, "sheep-sheared", false, "sheep-sheared", "{sheep}", StatType.INT);
+        armorDamage = new StatDefinition(6, "damage-taken", toolStats.armorDamage, toolStats.loreIndexArmorDamage, "armor-damage", false, "damage-taken", "{damage}", StatType.DOUBLE);
+        damageDone = new StatDefinition(7, "damage-done", toolStats.damageDone, toolStats.loreIndexDamageDone, "damage-done", true, "damage-done", "{damage}", StatType.DOUBLE);
+        arrowsShot = new StatDefinition(8, "arrows-shot", toolStats.arrowsShot, toolStats.loreIndexArrowsShot, "arrows-shot", false, "arrows-shot", "{arrows}", StatType.INT);
+        flightTime = new StatDefinition(9, "flight-time", toolStats.flightTime, toolStats.loreIndexFlightTime, "flight-time", false, "flight-time", null, StatType.LONG);
+
+        stats = List.of(playerKills, mobKills, blocksMined, cropsHarvested, fishCaught, sheepSheared, armorDamage, damageDone, arrowsShot, flightTime);
+        idLookup = new StatDefinition[stats.size()];
+        for (StatDefinition stat : stats) {
+            tokenLookup.put(stat.tokenType(), stat);
+            idLookup[stat.id()] = stat;
+        }
+    }
+
+    /**
+     * Get all stats, in the order they are processed.
+     *
+     * @return The stats.
+     */
+    public List<StatDefinition> getStats() {
+        return stats;
+    }
+
+    /**
+     * Get a stat from its token type.
+     *
+     * @param tokenType The token type.
+     * @return The stat, or null if the token is not for a stat.
+     */
+    public StatDefinition getByToken(String tokenType) {
+        return tokenLookup.get(tokenType);
+    }
+
+    /**
+     * Get a stat from its id.
+     *
+     * @param id The stat's id.
+     * @return The stat, or null if there is no stat with this id.
+     */
+    public StatDefinition getById(int id) {
+        if (id < 0 || id >= idLookup.length) {
+            return null;
+        }
+        return idLookup[id];
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import lol.hyper.toolstats.ToolStats;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * Reads and writes an item's stats. Stats are either stored under one key
+ * per stat, or packed into a single byte array when "packed-stats" is on.
+ * Items are moved between the two the next time their stats are written.
+ * <p>
+ * Packed layout: a schema version byte, a varint mask of which stat ids
+ * are stored, then each stored value in id order. INT and LONG values are
+ * zigzag varints, DOUBLE values are 8 bytes.
+ */
+public final class StatStore {
+
+    public static final byte SCHEMA_VERSION = 1;
+
+    private final ToolStats toolStats;
+
+    public StatStore(ToolStats toolStats) {
+        this.toolStats = toolStats;
+    }
+
+    /**
+     * Check if new writes should use the packed format.
+     *
+     * @return If packed-stats is on.
+     */
+    public boolean isPacked() {
+        return toolStats.settings.packedStats();
+    }
+
+    /**
+     * Read all stats from an item.
+     *
+     * @param container The item's container.
+     * @return The item's stats.
+     */
+    public StatValues read(PersistentDataContainerView container) {
+        List<StatDefinition> stats = toolStats.statRegistry.getStats();
+        byte[] blob = container.get(toolStats.statBlob, PersistentDataType.BYTE_ARRAY);
+        if (blob != null) {
+            StatValues values = decode(blob, stats);
+            if (values != null) {
+                return values;
+            }
+            toolStats.logger.warn("Unable to read packed stats with schema version {}, falling back to stat keys.", blob.length == 0 ? -1 : blob[0]);
+        }
+
+        StatValues values = new StatValues(stats.size(), false);
+        for (StatDefinition stat : stats) {
+            switch (stat.type()) {
+                case INT -> {
+                    if (container.has(stat.key(), PersistentDataType.INTEGER)) {
+                        values.setRaw(stat.id(), container.get(stat.key(), PersistentDataType.INTEGER));
+                    }
+                }
+                case LONG -> {
+                    if (container.has(stat.key(), PersistentDataType.LONG)) {
+                        values.setRaw(stat.id(), container.get(stat.key(), PersistentDataType.LONG));
+                    }
+                }
+                case DOUBLE -> {
+                    if (container.has(stat.key(), PersistentDataType.DOUBLE)) {
+                        values.setRaw(stat.id(), Double.doubleToRawLongBits(container.get(stat.key(), PersistentDataType.DOUBLE)));
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Write stats back to an item, if any changed.
+     *
+     * @param container The item's container.
+     * @param values    The stats to write.
+     */
+    public void write(PersistentDataContainer container, StatValues values) {
+        if (!values.isChanged()) {
+            return;
+        }
+        List<StatDefinition> stats = toolStats.statRegistry.getStats();
+        if (isPacked()) {
+            if (values.present() == 0) {
+                container.remove(toolStats.statBlob);
+            } else {
+                container.set(toolStats.statBlob, PersistentDataType.BYTE_ARRAY, encode(values, stats));
+            }
+            // move the item off the old keys
+            if (!values.packed()) {
+                for (StatDefinition stat : stats) {
+                    container.remove(stat.key());
+                }
+            }
+        } else {
+            // only touch the keys that changed, unless the item is moving off the packed format
+            int toWrite = values.packed() ? -1 : values.changed();
+            for (StatDefinition stat : stats) {
+                if ((toWrite & (1 << stat.id())) == 0) {
+                    continue;
+                }
+                if (!values.has(stat)) {
+                    container.remove(stat.key());
+                    continue;
+                }
+                switch (stat.type()) {
+                    case INT -> container.set(stat.key(), PersistentDataType.INTEGER, (int) values.raw(stat.id()));
+                    case LONG -> container.set(stat.key(), PersistentDataType.LONG, values.raw(stat.id()));
+                    case DOUBLE -> container.set(stat.key(), PersistentDataType.DOUBLE, Double.longBitsToDouble(values.raw(stat.id())));
+                }
+            }
+            if (values.packed()) {
+                container.remove(toolStats.statBlob);
+            }
+        }
+        values.clearChanged();
+    }
+
+    private byte[] encode(StatValues values, List<StatDefinition> stats) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        out.write(SCHEMA_VERSION);
+        int present = values.present();
+        writeVarLong(out, present);
+        for (StatDefinition stat : stats) {
+            if ((present & (1 << stat.id())) == 0) {
+                continue;
+            }
+            long raw = values.raw(stat.id());
+            if (stat.type() == StatType.DOUBLE) {
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) (raw >>> shift));
+                }
+            } else {
+                writeVarLong(out, (raw << 1) ^ (raw >> 63));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private StatValues decode(byte[] blob, List<StatDefinition> stats) {
+        if (blob.length == 0 || blob[0] != SCHEMA_VERSION) {
+            return null;
+        }
+        StatValues values = new StatValues(stats.size(), true);
+        int[] position = {1};
+        long present = readVarLong(blob, position);
+        if (present < 0 || (present >>> stats.size()) != 0) {
+            return null;
+        }
+        for (StatDefinition stat : stats) {
+            if ((present & (1L << stat.id())) == 0) {
+                continue;
+            }
+            if (stat.type() == StatType.DOUBLE) {
+                if (position[0] + 8 > blob.length) {
+                    return null;
+                }
+                long raw = 0;
+                for (int i = 0; i < 8; i++) {
+                    raw = (raw << 8) | (blob[position[0]++] & 0xFF);
+                }
+                values.setRaw(stat.id(), raw);
+            } else {
+                long zigzag = readVarLong(blob, position);
+                if (position[0] < 0) {
+                    return null;
+                }
+                values.setRaw(stat.id(), (zigzag >>> 1) ^ -(zigzag & 1));
+            }
+        }
+        return values;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Read a varint. On a truncated or too long varint, position is set to -1.
+     */
+    private static long readVarLong(byte[] blob, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= blob.length) {
+                position[0] = -1;
+                return -1;
+            }
+            byte b = blob[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        position[0] = -1;
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+/**
+ * How a stat is stored and rendered.
+ */
+public enum StatType {
+    /**
+     * Whole number counters, stored as INTEGER.
+     */
+    INT,
+    /**
+     * Durations in milliseconds, stored as LONG.
+     */
+    LONG,
+    /**
+     * Decimal amounts, stored as DOUBLE.
+     */
+    DOUBLE
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools;
+
+/**
+ * The stat values read from an item, indexed by stat id.
+ * Read and write these with {@link StatStore}.
+ */
+public final class StatValues {
+
+    // DOUBLE stats are stored as their raw bits
+    private final long[] values;
+    private final boolean packed;
+    private int present;
+    private int changed;
+
+    StatValues(int size, boolean packed) {
+        this.values = new long[size];
+        this.packed = packed;
+    }
+
+    /**
+     * Check if the item has a stat.
+     *
+     * @param stat The stat.
+     * @return If the stat is stored.
+     */
+    public boolean has(StatDefinition stat) {
+        return (present & (1 << stat.id())) != 0;
+    }
+
+    /**
+     * Get an INT stat.
+     *
+     * @param stat The stat.
+     * @return The value, or null if the item does not have it.
+     */
+    public Integer getInt(StatDefinition stat) {
+        return has(stat) ? (int) values[stat.id()] : null;
+    }
+
+    /**
+     * Get a LONG stat.
+     *
+     * @param stat The stat.
+     * @return The value, or null if the item does not have it.
+     */
+    public Long getLong(StatDefinition stat) {
+        return has(stat) ? values[stat.id()] : null;
+    }
+
+    /**
+     * Get a DOUBLE stat.
+     *
+     * @param stat The stat.
+     * @return The value, or null if the item does not have it.
+     */
+    public Double getDouble(StatDefinition stat) {
+        return has(stat) ? Double.longBitsToDouble(values[stat.id()]) : null;
+    }
+
+    /**
+     * Set an INT or LONG stat.
+     *
+     * @param stat  The stat.
+     * @param value The new value.
+     */
+    public void set(StatDefinition stat, long value) {
+        values[stat.id()] = value;
+        present |= 1 << stat.id();
+        changed |= 1 << stat.id();
+    }
+
+    /**
+     * Set a DOUBLE stat.
+     *
+     * @param stat  The stat.
+     * @param value The new value.
+     */
+    public void set(StatDefinition stat, double value) {
+        set(stat, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Remove a stat.
+     *
+     * @param stat The stat.
+     */
+    public void remove(StatDefinition stat) {
+        if (has(stat)) {
+            present &= ~(1 << stat.id());
+            changed |= 1 << stat.id();
+        }
+    }
+
+    /**
+     * Check if any stat was set or removed since these were read.
+     *
+     * @return If these need to be written.
+     */
+    public boolean isChanged() {
+        return changed != 0;
+    }
+
+    long raw(int id) {
+        return values[id];
+    }
+
+    void setRaw(int id, long value) {
+        values[id] = value;
+        present |= 1 << id;
+    }
+
+    int present() {
+        return present;
+    }
+
+    int changed() {
+        return changed;
+    }
+
+    boolean packed() {
+        return packed;
+    }
+
+    void clearChanged() {
+        changed = 0;
+    }
+}
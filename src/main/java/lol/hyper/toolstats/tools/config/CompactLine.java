@@ -0,0 +1,222 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools.config;
+
+import lol.hyper.hyperlib.utils.TextUtils;
+import lol.hyper.toolstats.tools.StatDefinition;
+import lol.hyper.toolstats.tools.StatRegistry;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A lore line that shows several stats at once, like "⛏ {blocks-mined} ⚔ {mob-kills}".
+ * Placeholders are the stat's token name. Each stat owns the text between the
+ * placeholder before it and its own placeholder, so stats an item does not
+ * have are left out along with their icon. The line is parsed once at load
+ * time, rendering only builds the text nodes for the values.
+ */
+public final class CompactLine {
+
+    private final StatDefinition[] stats;
+    // the nodes in front of each stat's value
+    private final Component[][] leads;
+    private final Style[] valueStyles;
+    private final Component[] tail;
+    // the text in front of each value and after the last one, used to find this line in lore
+    private final String[] leadTexts;
+    private final String tailText;
+
+    private CompactLine(StatDefinition[] stats, Component[][] leads, Style[] valueStyles, Component[] tail) {
+        this.stats = stats;
+        this.leads = leads;
+        this.valueStyles = valueStyles;
+        this.tail = tail;
+
+        String[] texts = new String[leads.length];
+        StringBuilder tailBuilder = new StringBuilder();
+        boolean plain = LoreTemplate.appendText(tail, tailBuilder);
+        for (int i = 0; i < leads.length && plain; i++) {
+            StringBuilder leadBuilder = new StringBuilder();
+            plain = LoreTemplate.appendText(leads[i], leadBuilder);
+            texts[i] = leadBuilder.toString();
+            // a value on its own can't tell lines apart
+            if (texts[i].isEmpty() && tailBuilder.isEmpty()) {
+                plain = false;
+            }
+        }
+        this.leadTexts = plain ? texts : null;
+        this.tailText = plain ? tailBuilder.toString() : null;
+    }
+
+    /**
+     * Parse a compact line from the config.
+     *
+     * @param raw       The line from the config.
+     * @param registry  The stats that can be used.
+     * @param textUtils Used to parse the line.
+     * @return The line, or null if it has no known stats.
+     */
+    public static CompactLine compile(String raw, StatRegistry registry, TextUtils textUtils) {
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+
+        List<Component> segments = new ArrayList<>();
+        LoreTemplate.flatten(textUtils.format(raw), Style.empty(), segments);
+
+        List<StatDefinition> stats = new ArrayList<>();
+        List<Component[]> leads = new ArrayList<>();
+        List<Style> valueStyles = new ArrayList<>();
+        List<Component> lead = new ArrayList<>();
+        for (Component segment : segments) {
+            if (!(segment instanceof TextComponent text)) {
+                lead.add(segment);
+                continue;
+            }
+            // split the text node at each placeholder it holds
+            String content = text.content();
+            int partStart = 0;
+            int open = content.indexOf('{');
+            while (open != -1) {
+                int close = content.indexOf('}', open);
+                if (close == -1) {
+                    break;
+                }
+                StatDefinition stat = registry.getByToken(content.substring(open + 1, close));
+                if (stat != null && !stats.contains(stat)) {
+                    if (open > partStart) {
+                        lead.add(Component.text(content.substring(partStart, open), text.style()));
+                    }
+                    stats.add(stat);
+                    leads.add(lead.toArray(new Component[0]));
+                    valueStyles.add(text.style());
+                    lead = new ArrayList<>();
+                    partStart = close + 1;
+                }
+                open = content.indexOf('{', close);
+            }
+            if (partStart < content.length()) {
+                lead.add(partStart == 0 ? text : Component.text(content.substring(partStart), text.style()));
+            }
+        }
+        if (stats.isEmpty()) {
+            return null;
+        }
+        return new CompactLine(stats.toArray(new StatDefinition[0]), leads.toArray(new Component[0][]), valueStyles.toArray(new Style[0]), lead.toArray(new Component[0]));
+    }
+
+    /**
+     * Get the stats on this line, in the order they are shown.
+     *
+     * @return The stats.
+     */
+    public List<StatDefinition> stats() {
+        return List.of(stats);
+    }
+
+    /**
+     * Check if a stat is shown on this line.
+     *
+     * @param stat The stat.
+     * @return If the stat is on this line.
+     */
+    public boolean contains(StatDefinition stat) {
+        for (StatDefinition lineStat : stats) {
+            if (lineStat == stat) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the item's values for this line.
+     *
+     * @param values Gets the formatted value for a stat, or null if the item does not have it.
+     * @return The values in the order of {@link #stats()}, or null if the item has none of the stats.
+     */
+    public String[] fill(Function<StatDefinition, String> values) {
+        String[] filled = new String[stats.length];
+        boolean any = false;
+        for (int i = 0; i < stats.length; i++) {
+            filled[i] = values.apply(stats[i]);
+            any |= filled[i] != null;
+        }
+        return any ? filled : null;
+    }
+
+    /**
+     * Build the lore line for a set of values.
+     *
+     * @param values The values from {@link #fill(Function)}.
+     * @return The lore line.
+     */
+    public Component render(String[] values) {
+        List<Component> parts = new ArrayList<>();
+        for (int i = 0; i < stats.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            parts.addAll(List.of(leads[i]));
+            parts.add(Component.text(values[i], valueStyles[i]));
+        }
+        parts.addAll(List.of(tail));
+        return Component.textOfChildren(parts.toArray(new Component[0])).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+    }
+
+    /**
+     * Check if this line can be found in lore by the text around its values.
+     *
+     * @return If {@link #matches(Component)} can be used.
+     */
+    public boolean hasSignature() {
+        return leadTexts != null;
+    }
+
+    /**
+     * Check if a lore line was made by this line, no matter what values it shows.
+     *
+     * @param line The lore line.
+     * @return If the line matches.
+     */
+    public boolean matches(Component line) {
+        if (leadTexts == null) {
+            return false;
+        }
+        StringBuilder builder = new StringBuilder();
+        if (!LoreTemplate.appendText(line, builder)) {
+            return false;
+        }
+        String text = builder.toString();
+        if (!text.endsWith(tailText)) {
+            return false;
+        }
+        // the line starts with the text of whichever stat is shown first
+        for (String leadText : leadTexts) {
+            if (text.length() > leadText.length() + tailText.length() && text.startsWith(leadText)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
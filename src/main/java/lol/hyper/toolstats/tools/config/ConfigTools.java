@@ -18,23 +18,145 @@
 package lol.hyper.toolstats.tools.config;
 
 import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatDefinition;
+import lol.hyper.toolstats.tools.StatType;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigTools {
 
     private final ToolStats toolStats;
+    private volatile Map<String, LoreTemplate> templates = Map.of();
+    private volatile Map<String, DurationTemplate> durations = Map.of();
+    private volatile List<CompactLine> compactLines = List.of();
+    private volatile Map<String, List<Component>> tokenLore = Map.of();
+    // messages that are set to "" to turn them off
+    private volatile Set<String> emptyMessages = Set.of();
+    // messages that were already warned about since the config was loaded
+    private final Set<String> warnedMessages = ConcurrentHashMap.newKeySet();
 
     public ConfigTools(ToolStats toolStats) {
         this.toolStats = toolStats;
+        loadTemplates();
+    }
+
+    /**
+     * Parse every message under messages into a template, along with the duration
+     * messages, the compact lines, and the token lore.
+     * Called when the config is loaded.
+     */
+    public void loadTemplates() {
+        Map<String, LoreTemplate> compiled = new HashMap<>();
+        Set<String> empty = new HashSet<>();
+        ConfigurationSection messages = toolStats.config.getConfigurationSection("messages");
+        if (messages != null) {
+            for (String key : messages.getKeys(true)) {
+                if (!messages.isString(key)) {
+                    continue;
+                }
+                String raw = messages.getString(key);
+                if (raw.isEmpty()) {
+                    empty.add(key);
+                    continue;
+                }
+                LoreTemplate template = LoreTemplate.compile(raw, toolStats.textUtils);
+                if (template != null) {
+                    compiled.put(key, template);
+                }
+            }
+        }
+        templates = compiled;
+        emptyMessages = Set.copyOf(empty);
+        warnedMessages.clear();
+
+        Map<String, DurationTemplate> compiledDurations = new HashMap<>();
+        for (StatDefinition stat : toolStats.statRegistry.getStats()) {
+            if (stat.type() != StatType.LONG) {
+                continue;
+            }
+            String raw = toolStats.config.getString("messages." + stat.messageKey());
+            if (raw != null && !raw.isEmpty()) {
+                compiledDurations.put(stat.messageKey(), DurationTemplate.compile(raw, toolStats.textUtils));
+            }
+        }
+        durations = compiledDurations;
+
+        List<CompactLine> compact = new ArrayList<>();
+        if (toolStats.config.getBoolean("compact-lore.enabled")) {
+            for (String raw : toolStats.config.getStringList("compact-lore.lines")) {
+                CompactLine line = CompactLine.compile(raw, toolStats.statRegistry, toolStats.textUtils);
+                if (line == null) {
+                    toolStats.logger.warn("Compact lore line has no stats, skipping it: {}", raw);
+                    continue;
+                }
+                compact.add(line);
+            }
+        }
+        compactLines = List.copyOf(compact);
+
+        Map<String, List<Component>> compiledTokenLore = new HashMap<>();
+        ConfigurationSection tokenData = toolStats.config.getConfigurationSection("tokens.data");
+        if (tokenData != null) {
+            for (String tokenType : tokenData.getKeys(false)) {
+                compiledTokenLore.put(tokenType, compileTokenLore(tokenData, tokenType));
+            }
+        }
+        tokenLore = compiledTokenLore;
+    }
+
+    /**
+     * Get the compiled template for a message.
+     *
+     * @param configName The message to use.
+     * @return The template, or null if the message is missing or could not be compiled.
+     */
+    public LoreTemplate getTemplate(String configName) {
+        return templates.get(configName);
+    }
+
+    /**
+     * Get every compiled message template.
+     *
+     * @return The templates.
+     */
+    public Collection<LoreTemplate> getTemplates() {
+        return templates.values();
+    }
+
+    /**
+     * Get the compact lines, empty if compact lore is off.
+     *
+     * @return The compact lines.
+     */
+    public List<CompactLine> getCompactLines() {
+        return compactLines;
+    }
+
+    /**
+     * Get the compact line a stat is shown on.
+     *
+     * @param stat The stat.
+     * @return The line, or null if the stat has its own line.
+     */
+    public CompactLine getCompactLine(StatDefinition stat) {
+        for (CompactLine line : compactLines) {
+            if (line.contains(stat)) {
+                return line;
+            }
+        }
+        return null;
     }
 
     /**
@@ -45,52 +167,32 @@ public class ConfigTools {
      * @return If we want to add data or not.
      */
     public boolean checkConfig(Material material, String configName) {
-        if (toolStats.config.getConfigurationSection("enabled." + configName) == null) {
+        Settings settings = toolStats.settings;
+        if (!settings.hasSection(configName)) {
             toolStats.logger.warn("Missing config section for enabled{}", configName);
             return false;
         }
+        return settings.isEnabled(configName, material);
+    }
 
-        String itemName = material.toString().toLowerCase();
-        String itemType = null;
-        // hardcode these
-        if (material == Material.BOW || material == Material.CROSSBOW || material == Material.SHEARS || material == Material.TRIDENT || material == Material.FISHING_ROD) {
-            switch (material) {
-                case CROSSBOW:
-                case BOW: {
-                    itemType = "bow";
-                    break;
-                }
-                case SHEARS: {
-                    itemType = "shears";
-                    break;
-                }
-                case TRIDENT: {
-                    itemType = "trident";
-                    break;
-                }
-                case FISHING_ROD: {
-                    itemType = "fishing-rod";
-                    break;
-                }
-            }
-        } else {
-            itemType = itemName.substring(itemName.indexOf('_') + 1);
-        }
-        return switch (itemType) {
-            case "pickaxe" -> toolStats.config.getBoolean("enabled." + configName + ".pickaxe");
-            case "sword" -> toolStats.config.getBoolean("enabled." + configName + ".sword");
-            case "shovel" -> toolStats.config.getBoolean("enabled." + configName + ".shovel");
-            case "axe" -> toolStats.config.getBoolean("enabled." + configName + ".axe");
-            case "hoe" -> toolStats.config.getBoolean("enabled." + configName + ".hoe");
-            case "shears" -> toolStats.config.getBoolean("enabled." + configName + ".shears");
-            case "crossbow", "bow" -> toolStats.config.getBoolean("enabled." + configName + ".bow");
-            case "trident" -> toolStats.config.getBoolean("enabled." + configName + ".trident");
-            case "fishing-rod" -> toolStats.config.getBoolean("enabled." + configName + ".fishing-rod");
-            case "mace" -> toolStats.config.getBoolean("enabled." + configName + ".mace");
-            case "helmet", "chestplate", "leggings", "boots" ->
-                    toolStats.config.getBoolean("enabled." + configName + ".armor");
-            default -> false;
-        };
+    /**
+     * Check if ToolStats should only store data and never write lore.
+     *
+     * @return If display-mode is headless.
+     */
+    public boolean isHeadless() {
+        return toolStats.settings.headless();
+    }
+
+    /**
+     * Checks the config to see if a stat is enabled for an item.
+     *
+     * @param material The item type to check.
+     * @param stat     The stat to check.
+     * @return If we want to track the stat or not.
+     */
+    public boolean checkConfig(Material material, StatDefinition stat) {
+        return toolStats.settings.isEnabled(stat, material);
     }
 
     /**
@@ -102,77 +204,48 @@ public class ConfigTools {
      * @return Formatted string, null if the configName doesn't exist.
      */
     public Component formatLore(String configName, String placeHolder, Object value) {
-        String lore = toolStats.config.getString("messages." + configName);
-        if (lore == null) {
-            toolStats.logger.warn("Unable to find config message for: messages.{}", configName);
-            return null;
+        LoreTemplate template = templates.get(configName);
+        if (template != null) {
+            if (template.placeholder() == null) {
+                return template.render(null);
+            }
+            if (value != null && template.placeholder().equals(placeHolder)) {
+                return template.render(String.valueOf(value));
+            }
         }
 
         // if the config message is empty, don't send it
-        if (lore.isEmpty()) {
+        if (emptyMessages.contains(configName)) {
             return null;
         }
-
-        // the final component for this lore
-        Component component;
-
-        // set the placeholder to the value
-        if (placeHolder != null && value != null) {
-            lore = lore.replace(placeHolder, String.valueOf(value));
+        if (warnedMessages.add(configName)) {
+            if (template == null) {
+                toolStats.logger.warn("Unable to find or use config message for: messages.{}. It must have at most one placeholder, and not inside a tag.", configName);
+            } else {
+                toolStats.logger.warn("Config message messages.{} must use the {} placeholder.", configName, placeHolder);
+            }
         }
-
-        component = toolStats.textUtils.format(lore);
-        return component.decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+        return null;
     }
 
     /**
-     * Format a string with several placeholders to be ready for lore usage.
+     * Format a duration message, like flight time, to be ready for lore usage.
      *
-     * @param configName         The message to use.
-     * @param placeHoldersValues Map containing placeholders names as keys and values.
+     * @param configName The message to use.
+     * @param time       The duration in ms.
      * @return Formatted string, null if the configName doesn't exist.
      */
-    public Component formatLoreMultiplePlaceholders(String configName, Map<String, String> placeHoldersValues) {
-        String lore = toolStats.config.getString("messages." + configName);
-        if (lore == null) {
-            toolStats.logger.warn("Unable to find config message for: messages.{}", configName);
-            return null;
+    public Component formatDuration(String configName, long time) {
+        DurationTemplate template = durations.get(configName);
+        if (template != null) {
+            return template.render(time);
         }
 
         // if the config message is empty, don't send it
-        if (lore.isEmpty()) {
-            return null;
-        }
-
-        Pattern pattern = Pattern.compile("\\{([^}]+)\\}(\\S*)\\s*");
-        Matcher matcher = pattern.matcher(lore);
-
-        StringBuilder result = new StringBuilder();
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            String placeholder = matcher.group(1);
-            String unit = matcher.group(2);
-
-            result.append(lore, lastEnd, matcher.start());
-
-            if (placeHoldersValues.containsKey(placeholder)) {
-                result.append(placeHoldersValues.get(placeholder)).append(unit).append(" ");
-            }
-
-            // Update lastEnd to end of the match
-            lastEnd = matcher.end();
-        }
-        if (lastEnd < lore.length()) {
-            result.append(lore.substring(lastEnd));
+        if (!emptyMessages.contains(configName) && warnedMessages.add(configName)) {
+            toolStats.logger.warn("Unable to find config message for: messages.{}", configName);
         }
-
-        Component component;
-        // Clean output text
-        String outputText = result.toString().replaceAll("\\s+", " ").trim();
-        component = toolStats.textUtils.format(outputText);
-
-        return component.decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+        return null;
     }
 
     /**
@@ -182,7 +255,18 @@ public class ConfigTools {
      * @return The lore.
      */
     public List<Component> getTokenLore(String tokenType) {
-        List<String> raw = toolStats.config.getStringList("tokens.data." + tokenType + ".lore");
+        return tokenLore.getOrDefault(tokenType, Collections.emptyList());
+    }
+
+    /**
+     * Parse a token's lore from config.
+     *
+     * @param tokenData The tokens.data section.
+     * @param tokenType The type.
+     * @return The lore.
+     */
+    private List<Component> compileTokenLore(ConfigurationSection tokenData, String tokenType) {
+        List<String> raw = tokenData.getStringList(tokenType + ".lore");
         if (raw.isEmpty()) {
             return Collections.emptyList();
         }
@@ -190,7 +274,7 @@ public class ConfigTools {
         List<Component> finalLore = new ArrayList<>();
         for (String line : raw) {
             if (line.contains("{levels}")) {
-                Integer levels = toolStats.config.getInt("tokens.data." + tokenType + ".levels");
+                int levels = tokenData.getInt(tokenType + ".levels");
                 // will return 0 if it doesn't exist
                 if (levels != 0) {
                     line = line.replace("{levels}", String.valueOf(levels));
@@ -200,6 +284,6 @@ public class ConfigTools {
             component = component.decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
             finalLore.add(component);
         }
-        return finalLore;
+        return List.copyOf(finalLore);
     }
 }
@@ -0,0 +1,209 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools.config;
+
+import lol.hyper.hyperlib.utils.TextUtils;
+import lol.hyper.toolstats.tools.DurationUnit;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A duration message, like flight time, that was parsed once at load time.
+ * Each placeholder takes the text right after it as its unit, e.g. "{hours}h". Units that are zero
+ * are left out along with their unit text, and runs of whitespace are collapsed into one space.
+ * Rendering a duration only builds the text nodes for the amounts.
+ */
+public final class DurationTemplate {
+
+    private static final Component SPACE = Component.text(" ");
+
+    // each part is a Literal or a Unit
+    private final Object[] parts;
+
+    private DurationTemplate(Object[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * A node that is always shown.
+     *
+     * @param node          The node.
+     * @param trimmed       The node without its trailing space, null if nothing is left.
+     * @param trailingSpace If the node ends with a space.
+     */
+    private record Literal(Component node, Component trimmed, boolean trailingSpace) {
+    }
+
+    /**
+     * A unit placeholder and the text that follows it.
+     *
+     * @param unit   The unit.
+     * @param style  The style of the placeholder.
+     * @param suffix The nodes after the amount, like "h".
+     */
+    private record Unit(DurationUnit unit, Style style, List<Component> suffix) {
+    }
+
+    /**
+     * Parse a message into a template.
+     *
+     * @param raw       The message from the config.
+     * @param textUtils Used to parse the message.
+     * @return The template.
+     */
+    public static DurationTemplate compile(String raw, TextUtils textUtils) {
+        List<Component> segments = new ArrayList<>();
+        LoreTemplate.flatten(textUtils.format(raw), Style.empty(), segments);
+
+        List<Object> parts = new ArrayList<>();
+        // the unit text being read, null once whitespace ends it
+        List<Component> suffix = null;
+        // whitespace is dropped at the start, after a space, and after a unit
+        boolean space = true;
+        for (Component segment : segments) {
+            if (!(segment instanceof TextComponent text)) {
+                if (suffix != null) {
+                    suffix.add(segment);
+                } else {
+                    parts.add(new Literal(segment, segment, false));
+                    space = false;
+                }
+                continue;
+            }
+
+            String content = text.content();
+            Style style = text.style();
+            StringBuilder run = new StringBuilder();
+            int i = 0;
+            while (i < content.length()) {
+                char c = content.charAt(i);
+                if (c == '{') {
+                    int close = content.indexOf('}', i + 1);
+                    // "{}" is not a placeholder
+                    if (close > i + 1) {
+                        addRun(run, style, suffix, parts);
+                        suffix = new ArrayList<>();
+                        // placeholders that aren't a unit are always left out
+                        DurationUnit unit = DurationUnit.fromPlaceholder(content.substring(i + 1, close));
+                        if (unit != null) {
+                            parts.add(new Unit(unit, style, suffix));
+                        }
+                        i = close + 1;
+                        continue;
+                    }
+                }
+                if (isWhitespace(c)) {
+                    if (suffix != null) {
+                        // the unit is everything up to the next whitespace, which is skipped too
+                        addRun(run, style, suffix, parts);
+                        suffix = null;
+                        space = true;
+                    } else if (!space) {
+                        run.append(' ');
+                        space = true;
+                    }
+                } else {
+                    run.append(c);
+                    if (suffix == null) {
+                        space = false;
+                    }
+                }
+                i++;
+            }
+            addRun(run, style, suffix, parts);
+        }
+        return new DurationTemplate(parts.toArray());
+    }
+
+    /**
+     * Add the text read so far to the unit being read, or as a literal.
+     *
+     * @param run    The text read so far, cleared after.
+     * @param style  The style of the text.
+     * @param suffix The unit text being read, or null.
+     * @param parts  The parts of the template.
+     */
+    private static void addRun(StringBuilder run, Style style, List<Component> suffix, List<Object> parts) {
+        if (run.isEmpty()) {
+            return;
+        }
+        String content = run.toString();
+        run.setLength(0);
+        Component node = Component.text(content, style);
+        if (suffix != null) {
+            suffix.add(node);
+            return;
+        }
+        boolean trailingSpace = content.charAt(content.length() - 1) == ' ';
+        Component trimmed = node;
+        if (trailingSpace) {
+            trimmed = content.length() == 1 ? null : Component.text(content.substring(0, content.length() - 1), style);
+        }
+        parts.add(new Literal(node, trimmed, trailingSpace));
+    }
+
+    /**
+     * Build the lore line for a duration.
+     *
+     * @param time The duration in ms.
+     * @return The lore line.
+     */
+    public Component render(long time) {
+        List<Component> nodes = new ArrayList<>(parts.length * 2);
+        // a shown unit is followed by a space, unless it ends the line
+        boolean separate = false;
+        Literal last = null;
+        for (Object part : parts) {
+            if (part instanceof Unit unit) {
+                if (!unit.unit().shown(time)) {
+                    continue;
+                }
+                if (separate) {
+                    nodes.add(SPACE);
+                }
+                nodes.add(Component.text(Long.toString(unit.unit().amount(time)), unit.style()));
+                nodes.addAll(unit.suffix());
+                separate = true;
+                last = null;
+            } else {
+                Literal literal = (Literal) part;
+                if (separate) {
+                    nodes.add(SPACE);
+                    separate = false;
+                }
+                nodes.add(literal.node());
+                last = literal;
+            }
+        }
+        if (last != null && last.trailingSpace()) {
+            nodes.removeLast();
+            if (last.trimmed() != null) {
+                nodes.add(last.trimmed());
+            }
+        }
+        return Component.textOfChildren(nodes.toArray(new Component[0])).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
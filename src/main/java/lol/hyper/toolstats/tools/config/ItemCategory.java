@@ -0,0 +1,102 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools.config;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+/**
+ * The item groups stats can be turned on or off for in the config.
+ */
+public enum ItemCategory {
+    PICKAXE("pickaxe"),
+    SWORD("sword"),
+    SHOVEL("shovel"),
+    AXE("axe"),
+    HOE("hoe"),
+    SHEARS("shears"),
+    BOW("bow"),
+    TRIDENT("trident"),
+    FISHING_ROD("fishing-rod"),
+    MACE("mace"),
+    ARMOR("armor");
+
+    private final String configKey;
+
+    ItemCategory(String configKey) {
+        this.configKey = configKey;
+    }
+
+    /**
+     * Get the name used for this category under each "enabled" section.
+     *
+     * @return The config key.
+     */
+    public String configKey() {
+        return configKey;
+    }
+
+    /**
+     * Work out which category an item type is in from the vanilla item tags.
+     *
+     * @param material The item type.
+     * @return The category, or null if stats can't be enabled for it.
+     */
+    public static ItemCategory classify(Material material) {
+        if (material.isLegacy() || !material.isItem()) {
+            return null;
+        }
+        // hardcode these
+        switch (material) {
+            case BOW, CROSSBOW -> {
+                return BOW;
+            }
+            case SHEARS -> {
+                return SHEARS;
+            }
+            case TRIDENT -> {
+                return TRIDENT;
+            }
+            case FISHING_ROD -> {
+                return FISHING_ROD;
+            }
+            case MACE -> {
+                return MACE;
+            }
+        }
+        if (Tag.ITEMS_PICKAXES.isTagged(material)) {
+            return PICKAXE;
+        }
+        if (Tag.ITEMS_SWORDS.isTagged(material)) {
+            return SWORD;
+        }
+        if (Tag.ITEMS_SHOVELS.isTagged(material)) {
+            return SHOVEL;
+        }
+        if (Tag.ITEMS_AXES.isTagged(material)) {
+            return AXE;
+        }
+        if (Tag.ITEMS_HOES.isTagged(material)) {
+            return HOE;
+        }
+        if (Tag.ITEMS_HEAD_ARMOR.isTagged(material) || Tag.ITEMS_CHEST_ARMOR.isTagged(material)
+                || Tag.ITEMS_LEG_ARMOR.isTagged(material) || Tag.ITEMS_FOOT_ARMOR.isTagged(material)) {
+            return ARMOR;
+        }
+        return null;
+    }
+}
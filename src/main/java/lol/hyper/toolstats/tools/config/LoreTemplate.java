@@ -0,0 +1,265 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools.config;
+
+import lol.hyper.hyperlib.utils.TextUtils;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A lore message that was parsed once at load time.
+ * Rendering a value only builds the text node that holds the placeholder.
+ */
+public final class LoreTemplate {
+
+    private final String placeholder;
+    private final Component[] before;
+    private final Component[] after;
+    private final Style slotStyle;
+    private final String slotPrefix;
+    private final String slotSuffix;
+    private final Component staticLine;
+    // the text around the value, used to find this template's line in lore
+    private final String signaturePrefix;
+    private final String signatureSuffix;
+
+    private LoreTemplate(String placeholder, Component[] before, Component[] after, Style slotStyle, String slotPrefix, String slotSuffix, Component staticLine) {
+        this.placeholder = placeholder;
+        this.before = before;
+        this.after = after;
+        this.slotStyle = slotStyle;
+        this.slotPrefix = slotPrefix;
+        this.slotSuffix = slotSuffix;
+        this.staticLine = staticLine;
+
+        String prefix = null;
+        String suffix = null;
+        if (placeholder != null) {
+            StringBuilder prefixBuilder = new StringBuilder();
+            StringBuilder suffixBuilder = new StringBuilder(slotSuffix);
+            if (appendText(before, prefixBuilder) && appendText(after, suffixBuilder)) {
+                prefixBuilder.append(slotPrefix);
+                // a value on its own can't tell lines apart
+                if (!prefixBuilder.isEmpty() || !suffixBuilder.isEmpty()) {
+                    prefix = prefixBuilder.toString();
+                    suffix = suffixBuilder.toString();
+                }
+            }
+        }
+        this.signaturePrefix = prefix;
+        this.signatureSuffix = suffix;
+    }
+
+    /**
+     * Parse a message into a template.
+     *
+     * @param raw       The message from the config.
+     * @param textUtils Used to parse the message.
+     * @return The template, or null if the message can't be compiled and has to be formatted each time.
+     */
+    public static LoreTemplate compile(String raw, TextUtils textUtils) {
+        if (raw == null || raw.isEmpty()) {
+            return null;
+        }
+
+        String placeholder = findPlaceholder(raw);
+        Component parsed = textUtils.format(raw);
+        if (placeholder == null) {
+            if (raw.indexOf('{') != -1) {
+                // more than one placeholder
+                return null;
+            }
+            Component line = parsed.decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+            return new LoreTemplate(null, null, null, null, null, null, line);
+        }
+
+        List<Component> segments = new ArrayList<>();
+        flatten(parsed, Style.empty(), segments);
+
+        // find the one text node that holds the placeholder
+        int slot = -1;
+        for (int i = 0; i < segments.size(); i++) {
+            if (segments.get(i) instanceof TextComponent text && text.content().contains(placeholder)) {
+                if (slot != -1) {
+                    return null;
+                }
+                slot = i;
+            }
+        }
+        if (slot == -1) {
+            // the placeholder is inside a tag, so we can't find it in the text
+            return null;
+        }
+
+        TextComponent slotText = (TextComponent) segments.get(slot);
+        String content = slotText.content();
+        int start = content.indexOf(placeholder);
+        if (content.indexOf(placeholder, start + 1) != -1) {
+            return null;
+        }
+        Component[] before = segments.subList(0, slot).toArray(new Component[0]);
+        Component[] after = segments.subList(slot + 1, segments.size()).toArray(new Component[0]);
+        return new LoreTemplate(placeholder, before, after, slotText.style(), content.substring(0, start), content.substring(start + placeholder.length()), null);
+    }
+
+    /**
+     * Find the only placeholder in a message.
+     *
+     * @param raw The message.
+     * @return The placeholder including the braces, or null if there is not exactly one.
+     */
+    private static String findPlaceholder(String raw) {
+        int open = raw.indexOf('{');
+        if (open == -1) {
+            return null;
+        }
+        int close = raw.indexOf('}', open);
+        if (close == -1 || raw.indexOf('{', open + 1) != -1) {
+            return null;
+        }
+        return raw.substring(open, close + 1);
+    }
+
+    /**
+     * Flatten a component into a list of nodes that carry their full style.
+     *
+     * @param component The component to flatten.
+     * @param parent    The style inherited from the parent.
+     * @param out       The list to add to.
+     */
+    static void flatten(Component component, Style parent, List<Component> out) {
+        Style style = parent.merge(component.style());
+        if (component instanceof TextComponent text) {
+            if (!text.content().isEmpty()) {
+                out.add(Component.text(text.content(), style));
+            }
+        } else {
+            out.add(component.children(List.of()).style(style));
+        }
+        for (Component child : component.children()) {
+            flatten(child, style, out);
+        }
+    }
+
+    /**
+     * Add the text of plain text nodes to a builder.
+     *
+     * @param nodes   The nodes.
+     * @param builder The builder to add to.
+     * @return False if a node is not plain text.
+     */
+    static boolean appendText(Component[] nodes, StringBuilder builder) {
+        for (Component node : nodes) {
+            if (!(node instanceof TextComponent text)) {
+                return false;
+            }
+            builder.append(text.content());
+        }
+        return true;
+    }
+
+    /**
+     * Get the text of a component by walking its text nodes.
+     *
+     * @param component The component.
+     * @param builder   The builder to add to.
+     * @return False if the component has something other than plain text.
+     */
+    static boolean appendText(Component component, StringBuilder builder) {
+        if (!(component instanceof TextComponent text)) {
+            return false;
+        }
+        builder.append(text.content());
+        for (Component child : component.children()) {
+            if (!appendText(child, builder)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if this template can find its line by the text around the value.
+     *
+     * @return If {@link #matches(Component)} can be used.
+     */
+    public boolean hasSignature() {
+        return signaturePrefix != null;
+    }
+
+    /**
+     * Check if a lore line was made by this template, no matter what value it shows.
+     *
+     * @param line The lore line.
+     * @return If the line matches.
+     */
+    public boolean matches(Component line) {
+        if (signaturePrefix == null) {
+            return false;
+        }
+        StringBuilder builder = new StringBuilder(signaturePrefix.length() + signatureSuffix.length() + 8);
+        if (!appendText(line, builder)) {
+            return false;
+        }
+        return matchesText(builder.toString());
+    }
+
+    /**
+     * Check if the plain text of a lore line was made by this template.
+     *
+     * @param text The plain text of the line.
+     * @return If the line matches.
+     */
+    public boolean matchesText(String text) {
+        if (signaturePrefix == null || text.length() <= signaturePrefix.length() + signatureSuffix.length()) {
+            return false;
+        }
+        return text.startsWith(signaturePrefix) && text.endsWith(signatureSuffix);
+    }
+
+    /**
+     * Get the placeholder this template fills in.
+     *
+     * @return The placeholder including the braces, or null if the message has none.
+     */
+    public String placeholder() {
+        return placeholder;
+    }
+
+    /**
+     * Build the lore line for a value.
+     *
+     * @param value The value for the placeholder.
+     * @return The lore line.
+     */
+    public Component render(String value) {
+        if (placeholder == null) {
+            return staticLine;
+        }
+        Component[] parts = new Component[before.length + 1 + after.length];
+        System.arraycopy(before, 0, parts, 0, before.length);
+        parts[before.length] = Component.text(slotPrefix + value + slotSuffix, slotStyle);
+        System.arraycopy(after, 0, parts, before.length + 1, after.length);
+        return Component.textOfChildren(parts).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools.config;
+
+import lol.hyper.toolstats.ToolStats;
+import lol.hyper.toolstats.tools.StatDefinition;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The config values that are read while the server is running, compiled once
+ * when the config is loaded. Nothing in here changes after it is built, so it
+ * can be read from any thread. A reload builds a new one and swaps it in.
+ */
+public final class Settings {
+
+    private final boolean allowCreative;
+    private final boolean tokensEnabled;
+    private final boolean craftTokens;
+    private final boolean generateHash;
+    private final boolean fastHash;
+    private final boolean normalizeTimeCreation;
+    private final boolean headless;
+    private final boolean packedStats;
+    private final int loreRefreshInterval;
+    private final boolean writeBehind;
+    private final int writeBehindFlushInterval;
+
+    private final Map<Material, ItemCategory> categories;
+    // tokens.data.<type>.levels
+    private final Map<String, Integer> tokenCosts;
+    // enabled.<name>: true/false
+    private final Map<String, Boolean> enabled;
+    // enabled.<name>.<category>, indexed by category ordinal
+    private final Map<String, boolean[]> enabledPerCategory;
+    // the same for every stat, indexed by stat id
+    // stats that are not split per item type only use the flag
+    private final boolean[][] statEnabled;
+    private final boolean[] statFlag;
+
+    private Settings(YamlConfiguration config, List<StatDefinition> stats) {
+        allowCreative = config.getBoolean("allow-creative");
+        tokensEnabled = config.getBoolean("tokens.enabled");
+        craftTokens = config.getBoolean("tokens.craft-tokens");
+        generateHash = config.getBoolean("generate-hash-for-items");
+        fastHash = "fast".equalsIgnoreCase(config.getString("hash-scheme"));
+        normalizeTimeCreation = config.getBoolean("normalize-time-creation");
+        headless = "headless".equalsIgnoreCase(config.getString("display-mode"));
+        packedStats = config.getBoolean("packed-stats");
+        loreRefreshInterval = config.getInt("lore-refresh-interval");
+        writeBehind = config.getBoolean("write-behind.enabled");
+        writeBehindFlushInterval = Math.max(1, config.getInt("write-behind.flush-interval", 20));
+
+        Map<Material, ItemCategory> categoryMap = new EnumMap<>(Material.class);
+        for (Material material : Material.values()) {
+            ItemCategory category = ItemCategory.classify(material);
+            if (category != null) {
+                categoryMap.put(material, category);
+            }
+        }
+        categories = Collections.unmodifiableMap(categoryMap);
+
+        Map<String, Integer> costMap = new HashMap<>();
+        ConfigurationSection tokenData = config.getConfigurationSection("tokens.data");
+        if (tokenData != null) {
+            for (String tokenType : tokenData.getKeys(false)) {
+                costMap.put(tokenType, tokenData.getInt(tokenType + ".levels"));
+            }
+        }
+        tokenCosts = Map.copyOf(costMap);
+
+        Map<String, Boolean> enabledMap = new HashMap<>();
+        Map<String, boolean[]> perCategoryMap = new HashMap<>();
+        ConfigurationSection enabledSection = config.getConfigurationSection("enabled");
+        if (enabledSection != null) {
+            for (String key : enabledSection.getKeys(false)) {
+                ConfigurationSection section = enabledSection.getConfigurationSection(key);
+                if (section == null) {
+                    enabledMap.put(key, enabledSection.getBoolean(key));
+                    continue;
+                }
+                boolean[] table = new boolean[ItemCategory.values().length];
+                for (ItemCategory category : ItemCategory.values()) {
+                    table[category.ordinal()] = section.getBoolean(category.configKey());
+                }
+                perCategoryMap.put(key, table);
+            }
+        }
+        enabled = Map.copyOf(enabledMap);
+        enabledPerCategory = Map.copyOf(perCategoryMap);
+
+        statEnabled = new boolean[stats.size()][];
+        statFlag = new boolean[stats.size()];
+        for (StatDefinition stat : stats) {
+            statEnabled[stat.id()] = enabledPerCategory.getOrDefault(stat.configName(), new boolean[ItemCategory.values().length]);
+            statFlag[stat.id()] = isEnabled(stat.configName());
+        }
+    }
+
+    /**
+     * Build the settings from the loaded config.
+     *
+     * @param toolStats ToolStats instance.
+     * @return The settings.
+     */
+    public static Settings load(ToolStats toolStats) {
+        return new Settings(toolStats.config, toolStats.statRegistry.getStats());
+    }
+
+    public boolean allowCreative() {
+        return allowCreative;
+    }
+
+    public boolean tokensEnabled() {
+        return tokensEnabled;
+    }
+
+    public boolean craftTokens() {
+        return craftTokens;
+    }
+
+    public boolean generateHash() {
+        return generateHash;
+    }
+
+    public boolean fastHash() {
+        return fastHash;
+    }
+
+    public boolean normalizeTimeCreation() {
+        return normalizeTimeCreation;
+    }
+
+    public boolean headless() {
+        return headless;
+    }
+
+    public boolean packedStats() {
+        return packedStats;
+    }
+
+    public int loreRefreshInterval() {
+        return loreRefreshInterval;
+    }
+
+    /**
+     * Get the XP levels required to use a token in an anvil.
+     *
+     * @param tokenType The token type.
+     * @return The amount of levels, 0 if it is not set.
+     */
+    public int tokenCost(String tokenType) {
+        return tokenCosts.getOrDefault(tokenType, 0);
+    }
+
+    public boolean writeBehind() {
+        return writeBehind;
+    }
+
+    public int writeBehindFlushInterval() {
+        return writeBehindFlushInterval;
+    }
+
+    /**
+     * Get the category an item type is in.
+     *
+     * @param material The item type.
+     * @return The category, or null if stats can't be enabled for it.
+     */
+    public ItemCategory getCategory(Material material) {
+        return categories.get(material);
+    }
+
+    /**
+     * Check a plain "enabled" option, like enabled.dropped-by.
+     *
+     * @param name The name under "enabled".
+     * @return If it's turned on.
+     */
+    public boolean isEnabled(String name) {
+        return enabled.getOrDefault(name, false);
+    }
+
+    /**
+     * Check if an "enabled" section exists that is split per item type.
+     *
+     * @param name The name under "enabled".
+     * @return If the section exists.
+     */
+    public boolean hasSection(String name) {
+        return enabledPerCategory.containsKey(name);
+    }
+
+    /**
+     * Check an "enabled" option that is split per item type, like enabled.crafted-by.
+     *
+     * @param name     The name under "enabled".
+     * @param material The item type.
+     * @return If it's turned on for this item.
+     */
+    public boolean isEnabled(String name, Material material) {
+        boolean[] table = enabledPerCategory.get(name);
+        ItemCategory category = categories.get(material);
+        return table != null && category != null && table[category.ordinal()];
+    }
+
+    /**
+     * Check if a stat is turned on for an item type.
+     *
+     * @param stat     The stat.
+     * @param material The item type.
+     * @return If the stat should be tracked.
+     */
+    public boolean isEnabled(StatDefinition stat, Material material) {
+        if (!stat.perItemType()) {
+            return statFlag[stat.id()];
+        }
+        ItemCategory category = categories.get(material);
+        return category != null && statEnabled[stat.id()][category.ordinal()];
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package lol.hyper.toolstats.tools.config.versions;
+
+import lol.hyper.toolstats.ToolStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Version15 {
+
+    private final ToolStats toolStats;
+
+    /**
+     * Used for updating from version 14 to 15.
+     *
+     * @param toolStats ToolStats instance.
+     */
+    public Version15(ToolStats toolStats) {
+        this.toolStats = toolStats;
+    }
+
+    /**
+     * Perform the config update.
+     */
+    public void update() {
+        // save the old config first
+        try {
+            toolStats.config.save("plugins" + File.separator + "ToolStats" + File.separator + "config-14.yml");
+        } catch (IOException exception) {
+            toolStats.logger.error("Unable to save config-14.yml!", exception);
+        }
+
+        toolStats.logger.info("Updating config.yml to version 15.");
+        toolStats.config.set("config-version", 15);
+
+        if (toolStats.config.get("write-behind.enabled") == null) {
+            toolStats.logger.info("Adding write-behind.enabled");
+            toolStats.config.set("write-behind.enabled", false);
+        }
+
+        if (toolStats.config.get("write-behind.flush-interval") == null) {
+            toolStats.logger.info("Adding write-behind.flush-interval");
+            toolStats.config.set("write-behind.flush-interval", 20);
+        }
+
+        List<String> writeBehindComments = new ArrayList<>();
+        writeBehindComments.add("Keep stat changes for held tools in memory and write them to the item every flush-interval ticks.");
+        writeBehindComments.add("This is much cheaper for players that mine a lot, but the lore will lag behind a little.");
+        writeBehindComments.add("Stats are always written when the player switches items, opens an inventory, drops an item, dies, or leaves.");
+        toolStats.config.setComments("write-behind", writeBehindComments);
+
+        if (toolStats.config.get("lore-refresh-interval") == null) {
+            toolStats.logger.info("Adding lore-refresh-interval");
+            toolStats.config.set("lore-refresh-interval", 0);
+        }
+
+        List<String> refreshComments = new ArrayList<>();
+        refreshComments.add("Only redraw a stat's lore line once every this many ticks per inventory slot. Set to 0 to redraw on every change.");
+        refreshComments.add("The stats themselves are always saved right away. The lore is redrawn when the item leaves the hand or an inventory is opened.");
+        toolStats.config.setComments("lore-refresh-interval", refreshComments);
+
+        if (toolStats.config.get("packed-stats") == null) {
+            toolStats.logger.info("Adding packed-stats");
+            toolStats.config.set("packed-stats", false);
+        }
+
+        List<String> packedComments = new ArrayList<>();
+        packedComments.add("Store all of an item's stats in one packed entry instead of one entry per stat.");
+        packedComments.add("This makes item data smaller. Items are converted the next time one of their stats changes.");
+        packedComments.add("Turning this off converts items back the same way.");
+        toolStats.config.setComments("packed-stats", packedComments);
+
+        if (toolStats.config.get("hash-scheme") == null) {
+            toolStats.logger.info("Adding hash-scheme");
+            toolStats.config.set("hash-scheme", "sha256");
+        }
+
+        List<String> hashSchemeComments = new ArrayList<>();
+        hashSchemeComments.add("How item hashes are made when generate-hash-for-items is on.");
+        hashSchemeComments.add("sha256: a SHA-256 hash.");
+        hashSchemeComments.add("fast: a faster 128-bit hash. It is not cryptographic.");
+        hashSchemeComments.add("The scheme is saved next to each hash, so changing this does not affect existing items.");
+        toolStats.config.setComments("hash-scheme", hashSchemeComments);
+
+        if (toolStats.config.get("display-mode") == null) {
+            toolStats.logger.info("Adding display-mode");
+            toolStats.config.set("display-mode", "lore");
+        }
+
+        List<String> displayComments = new ArrayList<>();
+        displayComments.add("How stats are shown on items.");
+        displayComments.add("lore: stats are written to the item's lore.");
+        displayComments.add("headless: stats are only stored in the item's data. Players can see them with /toolstats inspect.");
+        displayComments.add("Use /toolstats reset on an item to remove old lore after switching to headless.");
+        toolStats.config.setComments("display-mode", displayComments);
+
+        if (toolStats.config.getConfigurationSection("compact-lore") == null) {
+            toolStats.logger.info("Adding compact-lore");
+            toolStats.config.set("compact-lore.enabled", false);
+            toolStats.config.set("compact-lore.lines", List.of("&7⛏ &8{blocks-mined} &7⚔ &8{mob-kills} &7☠ &8{player-kills} &7⚡ &8{damage-done}"));
+        }
+
+        List<String> compactComments = new ArrayList<>();
+        compactComments.add("Show several stats on one line instead of one line per stat.");
+        compactComments.add("Placeholders are the token names: player-kills, mob-kills, blocks-mined, crops-mined, fish-caught,");
+        compactComments.add("sheep-sheared, damage-taken, damage-done, arrows-shot, and flight-time.");
+        compactComments.add("Stats an item does not have are left out, along with the text before them.");
+        compactComments.add("Use /toolstats reset on an item to move it to the new layout.");
+        toolStats.config.setComments("compact-lore", compactComments);
+
+        // dates are formatted with DateTimeFormatter now, which reads some letters differently than SimpleDateFormat
+        String dateFormat = toolStats.config.getString("date-format");
+        if (dateFormat != null) {
+            try {
+                DateTimeFormatter.ofPattern(dateFormat).withZone(ZoneId.systemDefault()).format(Instant.now());
+            } catch (IllegalArgumentException | DateTimeException exception) {
+                toolStats.logger.warn("date-format \"{}\" is not a valid DateTimeFormatter pattern and will be replaced with \"M/dd/yyyy\" until it is fixed.", dateFormat);
+            }
+        }
+
+        List<String> dateComments = new ArrayList<>();
+        dateComments.add("Change the default formatting for dates. This uses Java's DateTimeFormatter pattern syntax.");
+        dateComments.add("See: https://docs.oracle.com/en/java/javase/21/docs/api/java.base/java/time/format/DateTimeFormatter.html");
+        dateComments.add("Example: \"dd/MM/yyyy\"");
+        dateComments.add("If the pattern is not valid, \"M/dd/yyyy\" is used instead.");
+        toolStats.config.setComments("date-format", dateComments);
+
+        // save the config and reload it
+        try {
+            toolStats.config.save("plugins" + File.separator + "ToolStats" + File.separator + "config.yml");
+        } catch (IOException exception) {
+            toolStats.logger.error("Unable to save config.yml!", exception);
+        }
+        toolStats.loadConfig();
+        toolStats.logger.info("Config has been updated to version 15. A copy of version 14 has been saved as config-14.yml");
+    }
+}
+
@@ -0,0 +1,92 @@
+/*
+ * This file is part of ToolStats.
+ *
+ * ToolStats is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ToolStats is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with ToolStats.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package lol.hyper.toolstats.tools;
+
+import lol.hyper.toolstats.tools.PendingStats.ItemKey;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingStatsTest {
+
+    private static final int STATS = 4;
+    private static final int BLOCKS_MINED = 1;
+    private static final UUID OWNER = UUID.randomUUID();
+
+    private final ItemKey pickaxe = ItemKey.of(Material.DIAMOND_PICKAXE, 1000L, OWNER, 0);
+
+    @Test
+    void droppedToolKeepsItsStats() {
+        PendingStats stats = new PendingStats();
+        for (int i = 0; i < 25; i++) {
+            stats.deltas(pickaxe, 0, STATS)[BLOCKS_MINED]++;
+        }
+
+        // the tool was dropped, so its slot is empty when the player is flushed
+        Map<Integer, long[]> written = new HashMap<>();
+        stats.drain(slot -> null, 41, written::put);
+        assertTrue(written.isEmpty());
+        assertFalse(stats.isEmpty());
+
+        long[] deltas = stats.take(pickaxe);
+        assertNotNull(deltas);
+        assertEquals(25, deltas[BLOCKS_MINED]);
+        assertTrue(stats.isEmpty());
+    }
+
+    @Test
+    void sameTypeInSlotDoesNotGetTheStats() {
+        PendingStats stats = new PendingStats();
+        stats.deltas(pickaxe, 0, STATS)[BLOCKS_MINED] += 10;
+
+        ItemKey otherPickaxe = ItemKey.of(Material.DIAMOND_PICKAXE, 2000L, OWNER, 0);
+        Map<Integer, long[]> written = new HashMap<>();
+        stats.drain(slot -> slot == 0 ? otherPickaxe : null, 41, written::put);
+        assertTrue(written.isEmpty());
+        assertEquals(10, stats.take(pickaxe)[BLOCKS_MINED]);
+    }
+
+    @Test
+    void movedToolIsFound() {
+        PendingStats stats = new PendingStats();
+        stats.deltas(pickaxe, 0, STATS)[BLOCKS_MINED] += 3;
+
+        Map<Integer, long[]> written = new HashMap<>();
+        stats.drain(slot -> slot == 7 ? ItemKey.of(Material.DIAMOND_PICKAXE, 1000L, OWNER, 7) : null, 41, written::put);
+        assertEquals(3, written.get(7)[BLOCKS_MINED]);
+        assertTrue(stats.isEmpty());
+    }
+
+    @Test
+    void itemsWithoutOriginOnlyMatchTheirSlot() {
+        PendingStats stats = new PendingStats();
+        ItemKey plain = ItemKey.of(Material.IRON_SHOVEL, null, null, 2);
+        stats.deltas(plain, 2, STATS)[BLOCKS_MINED] += 5;
+
+        Map<Integer, long[]> written = new HashMap<>();
+        stats.drain(slot -> slot == 4 ? ItemKey.of(Material.IRON_SHOVEL, null, null, 4) : null, 41, written::put);
+        assertTrue(written.isEmpty());
+
+        stats.drain(slot -> slot == 2 ? ItemKey.of(Material.IRON_SHOVEL, null, null, 2) : null, 41, written::put);
+        assertEquals(5, written.get(2)[BLOCKS_MINED]);
+    }
+}